@@ -0,0 +1,30 @@
+#!/bin/bash
+
+##############################################
+# Run the scenarios in N duration-balanced shards, one JVM each
+# Usage: ./run-sharded.sh [shards] [tag]
+##############################################
+
+# Colors
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+SHARDS=${1:-4}
+TAG=${2:-@api}
+
+echo -e "${BLUE}Compiling once for all shards...${NC}"
+mvn -q clean test-compile || exit 1
+
+echo -e "${BLUE}Starting ${SHARDS} shards (tag ${TAG})...${NC}"
+for i in $(seq 1 "$SHARDS"); do
+    mvn -q surefire:test -Dtest=TestRunner -Dshard="$i/$SHARDS" -Dsurefire.reportNameSuffix="shard$i" \
+        -Dcucumber.filter.tags="$TAG" > "target/shard-$i.log" 2>&1 &
+done
+wait
+echo -e "${GREEN}✓ All shards finished (logs in target/shard-*.log)${NC}"
+
+echo -e "${YELLOW}Merging shard results...${NC}"
+mvn -q -Pmerge-shards verify
+echo -e "${GREEN}✓ Metrics in target/metrics, Allure results in target/allure-results${NC}"
@@ -0,0 +1,84 @@
+package com.indodax.api.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Writes log messages on a background thread so request threads never block on stdout.
+ * The queue is bounded: when it is full, messages are dropped and counted.
+ */
+public final class AsyncLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger("com.indodax.http");
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final BlockingQueue<Supplier<String>> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong PENDING = new AtomicLong();
+
+    static {
+        Thread writer = new Thread(AsyncLogWriter::drain, "http-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private AsyncLogWriter() {
+    }
+
+    /**
+     * Queue a message; never blocks
+     */
+    public static void submit(String message) {
+        submit(() -> message);
+    }
+
+    /**
+     * Queue a message that is only built on the writer thread; never blocks
+     */
+    public static void submit(Supplier<String> message) {
+        PENDING.incrementAndGet();
+        if (!QUEUE.offer(message)) {
+            PENDING.decrementAndGet();
+            DROPPED.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wait (up to the timeout) until everything queued so far is written
+     */
+    public static void flush(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (PENDING.get() > 0 && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long dropped = DROPPED.get();
+        if (dropped > 0) {
+            logger.warn("{} HTTP log messages were dropped because the log queue was full", dropped);
+        }
+    }
+
+    private static void drain() {
+        while (true) {
+            try {
+                Supplier<String> message = QUEUE.take();
+                try {
+                    logger.info(message.get());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not format HTTP log message: {}", e.toString());
+                }
+                PENDING.decrementAndGet();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
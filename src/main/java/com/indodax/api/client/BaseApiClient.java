@@ -1,147 +1,724 @@
 package com.indodax.api.client;
 
+import com.indodax.api.replay.ExchangeRecorder;
 import com.indodax.config.ApiConfig;
-import io.qameta.allure.restassured.AllureRestAssured;
+import com.indodax.performance.ApiMetrics;
+import com.indodax.performance.PerfHistory;
+import com.indodax.performance.WorkerExecutors;
 import io.restassured.RestAssured;
+import io.restassured.config.EncoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
+/**
+ * Base client holding everything a scenario needs to talk to the API.
+ * Nothing here touches RestAssured's global statics: base URI and config are
+ * applied per request spec, so one instance per scenario can run in parallel
+ * with others. Connections come from the shared {@link HttpConnectionPool}.
+ * Every request is bounded by api.request.timeout and by the client's
+ * {@link Deadline} (api.scenario.timeout), whichever is sooner.
+ */
 public abstract class BaseApiClient {
     protected static final Logger logger = LoggerFactory.getLogger(BaseApiClient.class);
+    private static final RestAssuredConfig CONFIG = configureTimeouts();
+    /**
+     * Sends JSON bodies given as bytes or files through the stream encoder, untouched and unbuffered
+     */
+    private static final RestAssuredConfig RAW_BODY_CONFIG = CONFIG.encoderConfig(EncoderConfig.encoderConfig()
+            .encodeContentTypeAs(ApiConfig.DEFAULT_CONTENT_TYPE, ContentType.BINARY));
+    private static final RetryPolicy RETRY_POLICY = RetryPolicy.fromConfig();
+    private static final ExecutorService HEDGE_EXECUTOR =
+            WorkerExecutors.newWorkerExecutor("hedged-request", ApiConfig.HTTP_POOL_MAX_TOTAL);
+    private final String baseUrl;
+    private final String host;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final ExchangeLog exchangeLog = new ExchangeLog();
     protected Response response;
-    protected Map<String, Object> chainedData = new HashMap<>();
+    private JsonDocument document;
+    private int responseCount;
+    private int jsonParseCount;
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+    private final LongAdder requestNanos = new LongAdder();
+    private final LongAdder hedgesFired = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private volatile Deadline deadline = Deadline.after(ApiConfig.SCENARIO_TIMEOUT_MS);
+    private volatile boolean hedging = ApiConfig.HEDGE_ENABLED;
+    private volatile ExchangeRecorder recorder = ApiConfig.RECORD_EXCHANGES ? ExchangeRecorder.getInstance() : null;
+    protected final Map<String, Object> chainedData = new ConcurrentHashMap<>();
 
     public BaseApiClient() {
-        RestAssured.baseURI = ApiConfig.getBaseUrl();
-        configureTimeouts();
+        this(ApiConfig.getBaseUrl());
+    }
+
+    public BaseApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.host = hostOf(baseUrl);
+        this.circuitBreaker = CircuitBreaker.forHost(host);
+        this.rateLimiter = RateLimiter.forHost(host);
+    }
+
+    private static String hostOf(String baseUrl) {
+        try {
+            String authority = URI.create(baseUrl).getAuthority();
+            return authority != null ? authority : baseUrl;
+        } catch (IllegalArgumentException e) {
+            return baseUrl;
+        }
     }
 
-    private void configureTimeouts() {
-        RestAssured.config = RestAssured.config()
-                .httpClient(io.restassured.config.HttpClientConfig.httpClientConfig()
+    private static RestAssuredConfig configureTimeouts() {
+        return RestAssuredConfig.config()
+                .httpClient(HttpConnectionPool.httpClientConfig()
                         .setParam("http.connection.timeout", ApiConfig.CONNECTION_TIMEOUT)
-                        .setParam("http.socket.timeout", ApiConfig.SOCKET_TIMEOUT));
+                        .setParam("http.socket.timeout", ApiConfig.SOCKET_TIMEOUT)
+                        .setParam("http.conn-manager.timeout", (long) ApiConfig.CONNECTION_TIMEOUT));
+    }
+
+    /**
+     * Base URL this client sends requests to
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Deadline for every later request of this client, retries included;
+     * starts as api.scenario.timeout from the client's creation
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline != null ? deadline : Deadline.none();
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Send a backup for GETs slower than the endpoint's usual latency (api.hedge.*)
+     */
+    public void setHedging(boolean hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * Connect and read timeout for a request sent now: api.request.timeout
+     * (the socket timeout when 0), cut to the time left before the deadline
+     */
+    private int requestTimeoutMillis() {
+        long timeout = ApiConfig.REQUEST_TIMEOUT_MS > 0 ? ApiConfig.REQUEST_TIMEOUT_MS : ApiConfig.SOCKET_TIMEOUT;
+        // 0 would mean no timeout at all
+        return (int) Math.max(1, Math.min(timeout, deadline.remainingMillis()));
+    }
+
+    private RestAssuredConfig withTimeouts(RestAssuredConfig config) {
+        int timeout = requestTimeoutMillis();
+        int connectTimeout = Math.min(ApiConfig.CONNECTION_TIMEOUT, timeout);
+        return config.httpClient(config.getHttpClientConfig()
+                .setParam("http.connection.timeout", connectTimeout)
+                .setParam("http.socket.timeout", timeout)
+                .setParam("http.conn-manager.timeout", (long) connectTimeout));
     }
 
     protected RequestSpecification getRequestSpec() {
         RequestSpecification spec = RestAssured.given()
+                .baseUri(baseUrl)
+                .config(withTimeouts(CONFIG))
                 .header("Accept", ApiConfig.DEFAULT_ACCEPT)
                 .header("Content-Type", ApiConfig.DEFAULT_CONTENT_TYPE);
 
-        if (ApiConfig.ENABLE_ALLURE) {
-            spec.filter(new AllureRestAssured());
+        if (ApiConfig.ENABLE_LOGGING) {
+            spec.filter(exchangeLog);
         }
 
-        if (ApiConfig.ENABLE_LOGGING) {
-            spec.log().all();
+        return record(spec);
+    }
+
+    /**
+     * Add the recorder (api.record) to a request spec; quiet requests are recorded too,
+     * so sweeps over every pair can be replayed
+     */
+    private RequestSpecification record(RequestSpecification spec) {
+        ExchangeRecorder current = recorder;
+        return current != null ? spec.filter(current) : spec;
+    }
+
+    /**
+     * Record this client's exchanges with the given recorder instead of the run-wide one (null for none)
+     */
+    public void setRecorder(ExchangeRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Recent request/response exchanges of this client
+     */
+    public ExchangeLog getExchangeLog() {
+        return exchangeLog;
+    }
+
+    /**
+     * Bare request spec for high-volume callers: no Allure filter, no logging, only the recorder
+     */
+    protected RequestSpecification getQuietRequestSpec() {
+        return record(RestAssured.given()
+                .baseUri(baseUrl)
+                .config(withTimeouts(CONFIG))
+                .header("Accept", ApiConfig.DEFAULT_ACCEPT)
+                .header("Content-Type", ApiConfig.DEFAULT_CONTENT_TYPE));
+    }
+
+    /**
+     * GET without logging or attachments; does not replace the last response,
+     * so it can be called from many threads at once
+     */
+    protected Response getQuietly(String endpoint) {
+        return execute("GET", endpoint, () -> getQuietRequestSpec().get(endpoint), false);
+    }
+
+    /**
+     * Send one request, buffer its body (so the pooled connection goes back to
+     * the pool right away) and record its latency and status, see timed()
+     */
+    protected Response execute(String method, String endpoint, Supplier<Response> request, boolean tracked) {
+        return timed(method, endpoint, tracked, () -> fetch(request));
+    }
+
+    /**
+     * Run one call, a single request or a hedged pair, and record the latency
+     * the caller saw in ApiMetrics and requestNanos. 2xx latencies of tracked
+     * requests also go to PerfHistory; quiet ones (load, sampling, sweeps)
+     * stay out of the regression baseline.
+     */
+    private Response timed(String method, String endpoint, boolean tracked, Supplier<Response> call) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException(method, endpoint, null);
+        }
+        String template = endpointTemplate(endpoint);
+        long start = System.nanoTime();
+        try {
+            Response latest = call.get();
+            long elapsed = System.nanoTime() - start;
+            requestNanos.add(elapsed);
+            ApiMetrics.record(method, template, latest.getStatusCode(), elapsed);
+            if (tracked && latest.getStatusCode() / 100 == 2) {
+                PerfHistory.recordRequest(method, template, elapsed);
+            }
+            return latest;
+        } catch (Exception e) {
+            // RestAssured can rethrow checked I/O exceptions undeclared, so catch them all
+            long elapsed = System.nanoTime() - start;
+            requestNanos.add(elapsed);
+            ApiMetrics.recordFailure(method, template, elapsed);
+            throw e;
+        }
+    }
+
+    /**
+     * Send one request and buffer its body, without recording anything
+     */
+    private static Response fetch(Supplier<Response> request) {
+        Response latest = request.get();
+        latest.asByteArray();
+        return latest;
+    }
+
+    /**
+     * Send through the rate limiters and the host's circuit breaker, retrying
+     * idempotent requests on 429, 5xx and I/O errors (see RetryPolicy).
+     * A 429 pauses the limiters for its Retry-After instead of backing off here.
+     * The last response or error is returned once retries run out, or once the
+     * deadline leaves no time for the next retry; an error then comes wrapped
+     * in a DeadlineExceededException.
+     */
+    protected Response send(String method, String endpoint, Supplier<Response> request) {
+        return send(method, endpoint, request, true);
+    }
+
+    /**
+     * send() for tracked requests, or for quiet ones, which PerfHistory leaves out
+     */
+    private Response send(String method, String endpoint, Supplier<Response> request, boolean tracked) {
+        int maxAttempts = RETRY_POLICY.maxAttempts(method);
+        RateLimiter groupLimiter = RateLimiter.forGroup(host, endpointTemplate(endpoint));
+        boolean hedged = hedging && "GET".equals(method);
+        for (int attempt = 1; ; attempt++) {
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException(method, endpoint, null);
+            }
+            boolean trial = circuitBreaker.acquirePermission();
+            // set once the breaker has heard how this attempt went
+            boolean settled = false;
+            String failure;
+            long delay;
+            Response retried = null;
+            Exception error = null;
+            try {
+                rateLimitWaitNanos.add(rateLimiter.acquire() + (groupLimiter != null ? groupLimiter.acquire() : 0));
+                Response latest = hedged
+                        ? timed(method, endpoint, tracked, () -> executeHedged(endpoint, request, groupLimiter))
+                        : execute(method, endpoint, request, tracked);
+                int status = latest.getStatusCode();
+                if (status == 429) {
+                    long retryAfter = RateLimiter.parseRetryAfter(latest.getHeader("Retry-After"));
+                    rateLimiter.onThrottled(retryAfter);
+                    if (groupLimiter != null) {
+                        groupLimiter.onThrottled(retryAfter);
+                    }
+                    // the host answered, so this is not a breaker failure
+                    circuitBreaker.onSuccess();
+                    settled = true;
+                    if (attempt >= maxAttempts) {
+                        return latest;
+                    }
+                    retried = latest;
+                    failure = "status 429";
+                    delay = 0;
+                } else if (!RetryPolicy.isRetryable(status)) {
+                    circuitBreaker.onSuccess();
+                    settled = true;
+                    rateLimiter.onSuccess();
+                    if (groupLimiter != null) {
+                        groupLimiter.onSuccess();
+                    }
+                    return latest;
+                } else {
+                    circuitBreaker.onFailure();
+                    settled = true;
+                    if (attempt >= maxAttempts) {
+                        return latest;
+                    }
+                    retried = latest;
+                    failure = "status " + status;
+                    delay = RETRY_POLICY.backoffMillis(attempt - 1);
+                }
+            } catch (Exception e) {
+                if (!RetryPolicy.isRetryable(e)) {
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                settled = true;
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                error = e;
+                failure = e.toString();
+                delay = RETRY_POLICY.backoffMillis(attempt - 1);
+            } finally {
+                if (!settled) {
+                    // e.g. a deadline or a non-I/O error: no outcome, but a half-open trial must not stay taken
+                    circuitBreaker.release(trial);
+                }
+            }
+            if (delay >= deadline.remainingMillis()) {
+                logger.warn("{} {} failed ({}), no time left to retry ({})", method, endpoint, failure, deadline);
+                if (retried != null) {
+                    return retried;
+                }
+                throw new DeadlineExceededException(method, endpoint, error);
+            }
+            logger.warn("{} {} failed ({}), retry {}/{} in {} ms", method, endpoint, failure, attempt, maxAttempts - 1, delay);
+            retryCount.increment();
+            ApiMetrics.recordRetry(method, endpointTemplate(endpoint));
+            sleep(delay);
+        }
+    }
+
+    /**
+     * GET that sends a backup request once the first one has taken longer than
+     * api.hedge.percentile of the endpoint's recent 2xx latencies (at least
+     * api.hedge.minDelayMs), and returns whichever answers first. The other one
+     * is aborted, so its pooled connection is free again right away. The backup
+     * needs its own circuit breaker permission and reports its own outcome;
+     * without one, only the first request is waited for.
+     * Endpoints with fewer than api.hedge.minSamples successes are not hedged.
+     * The requests themselves record nothing: send() times the whole call, so
+     * the metrics see the hedge delay plus the backup, as the caller did.
+     */
+    private Response executeHedged(String endpoint, Supplier<Response> request, RateLimiter groupLimiter) {
+        String template = endpointTemplate(endpoint);
+        double percentile = ApiMetrics.successPercentileMillis("GET", template, ApiConfig.HEDGE_PERCENTILE,
+                ApiConfig.HEDGE_MIN_SAMPLES);
+        long hedgeAfter = Math.max(ApiConfig.HEDGE_MIN_DELAY_MS, (long) Math.ceil(percentile));
+        if (percentile < 0 || hedgeAfter >= deadline.remainingMillis()) {
+            return fetch(request);
+        }
+
+        HttpConnectionPool.Abort primaryAbort = new HttpConnectionPool.Abort();
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(
+                () -> HttpConnectionPool.abortable(primaryAbort, () -> fetch(request)),
+                HEDGE_EXECUTOR);
+        try {
+            return primary.get(hedgeAfter, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // slower than usual, send the backup below
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            primaryAbort.abort();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for GET " + endpoint, e);
+        }
+
+        boolean trial;
+        try {
+            trial = circuitBreaker.acquirePermission();
+        } catch (CircuitOpenException e) {
+            // the breaker opened meanwhile, or the first request is its half-open trial
+            return awaitPrimary(endpoint, primary, primaryAbort);
+        }
+        HttpConnectionPool.Abort backupAbort = new HttpConnectionPool.Abort();
+        CompletableFuture<Response> backup;
+        try {
+            rateLimitWaitNanos.add(rateLimiter.acquire() + (groupLimiter != null ? groupLimiter.acquire() : 0));
+            hedgesFired.increment();
+            backup = CompletableFuture.supplyAsync(
+                    () -> executeBackup(request, backupAbort, trial), HEDGE_EXECUTOR);
+        } catch (RuntimeException e) {
+            circuitBreaker.release(trial);
+            primaryAbort.abort();
+            throw e;
+        }
+        Response first;
+        try {
+            first = firstOf(primary, backup).join();
+        } catch (CompletionException e) {
+            throw unchecked(e.getCause());
+        }
+        boolean backupWon = backup.isDone() && !backup.isCompletedExceptionally() && backup.join() == first;
+        (backupWon ? primaryAbort : backupAbort).abort();
+        if (backupWon) {
+            hedgesWon.increment();
+        }
+        ApiMetrics.recordHedge("GET", template, backupWon);
+        logger.debug("GET {} hedged after {} ms, {} answered first", endpoint, hedgeAfter, backupWon ? "backup" : "primary");
+        return first;
+    }
+
+    /**
+     * Backup half of a hedged GET. It settles its own breaker permission the way
+     * send() settles the first request's; an aborted backup only hands the permission back.
+     */
+    private Response executeBackup(Supplier<Response> request, HttpConnectionPool.Abort abort, boolean trial) {
+        boolean settled = false;
+        try {
+            Response latest = HttpConnectionPool.abortable(abort, () -> fetch(request));
+            int status = latest.getStatusCode();
+            if (status != 429 && RetryPolicy.isRetryable(status)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            settled = true;
+            return latest;
+        } catch (Exception e) {
+            if (!abort.isAborted() && RetryPolicy.isRetryable(e)) {
+                circuitBreaker.onFailure();
+                settled = true;
+            }
+            throw e;
+        } finally {
+            if (!settled) {
+                circuitBreaker.release(trial);
+            }
+        }
+    }
+
+    private Response awaitPrimary(String endpoint, CompletableFuture<Response> primary, HttpConnectionPool.Abort abort) {
+        try {
+            return primary.get();
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            abort.abort();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for GET " + endpoint, e);
+        }
+    }
+
+    /**
+     * First of two responses; fails only when both requests fail
+     */
+    private static CompletableFuture<Response> firstOf(CompletableFuture<Response> a, CompletableFuture<Response> b) {
+        CompletableFuture<Response> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> attempt : List.of(a, b)) {
+            attempt.whenComplete((latest, error) -> {
+                if (error == null) {
+                    first.complete(latest);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.completeExceptionally(error);
+                }
+            });
+        }
+        return first;
+    }
+
+    /**
+     * Rethrow the failure of an async request; I/O errors stay retryable
+     */
+    private static RuntimeException unchecked(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof IOException io) {
+            return new UncheckedIOException(io);
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
         }
+    }
+
+    /**
+     * Time this client has spent waiting on rate limiters, in milliseconds
+     */
+    public long getRateLimitWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(rateLimitWaitNanos.sum());
+    }
+
+    /**
+     * Time this client has spent on requests, retries included, in nanoseconds
+     */
+    public long getRequestNanos() {
+        return requestNanos.sum();
+    }
+
+    /**
+     * Backup requests this client has sent for slow GETs
+     */
+    public long getHedgesFired() {
+        return hedgesFired.sum();
+    }
+
+    /**
+     * Backup requests that answered before the request they backed up
+     */
+    public long getHedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Retries this client has made so far
+     */
+    public int getRetryCount() {
+        return retryCount.intValue();
+    }
 
-        return spec;
+    /**
+     * Endpoint template used to group metrics, e.g. /ticker/{pair} rather than /ticker/btcidr
+     */
+    protected String endpointTemplate(String endpoint) {
+        int query = endpoint.indexOf('?');
+        return query >= 0 ? endpoint.substring(0, query) : endpoint;
     }
 
     protected Response get(String endpoint) {
-        logger.info("GET {}", endpoint);
-        response = getRequestSpec()
+        logger.debug("GET {}", endpoint);
+        return track(send("GET", endpoint, () -> getRequestSpec()
                 .when()
-                .get(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .get(endpoint)));
+    }
+
+    /**
+     * GET through the shared ResponseCache when the endpoint has a TTL
+     * (api.cache.*); a plain GET otherwise. Stale entries are revalidated
+     * with the ETag / Last-Modified the server sent, if any.
+     */
+    protected Response getCached(String endpoint) {
+        long ttl = ResponseCache.ttlMillis(endpoint);
+        if (ttl <= 0) {
+            return get(endpoint);
+        }
+        String key = baseUrl + endpoint;
+        ResponseCache.Entry entry = ResponseCache.get(key);
+        if (entry != null && entry.isFresh(ttl)) {
+            ResponseCache.hit();
+            logger.debug("GET {} served from cache", endpoint);
+            return track(entry.response);
+        }
+
+        Map<String, String> validators = new HashMap<>();
+        if (entry != null && entry.etag() != null) {
+            validators.put("If-None-Match", entry.etag());
+        }
+        if (entry != null && entry.lastModified() != null) {
+            validators.put("If-Modified-Since", entry.lastModified());
+        }
+        logger.debug("GET {} (cache {})", endpoint, validators.isEmpty() ? "miss" : "revalidation");
+        Response latest = send("GET", endpoint, () -> getRequestSpec()
+                .headers(validators)
+                .when()
+                .get(endpoint));
+
+        if (entry != null && latest.getStatusCode() == 304) {
+            ResponseCache.hit();
+            ResponseCache.revalidated();
+            ResponseCache.put(key, entry.response);
+            return track(entry.response);
+        }
+        ResponseCache.miss();
+        if (latest.getStatusCode() == 200) {
+            ResponseCache.put(key, latest);
+        } else {
+            ResponseCache.remove(key);
+        }
+        return track(latest);
+    }
+
+    /**
+     * POST with a validated JSON body, sent as raw bytes or streamed from a file
+     */
+    protected Response post(String endpoint, JsonRequestBody body) {
+        logger.debug("POST {} with body: {}", endpoint, body);
+        return track(send("POST", endpoint, () -> body.applyTo(getRequestSpec()
+                .config(withTimeouts(RAW_BODY_CONFIG)))
+                .when()
+                .post(endpoint)));
     }
 
     /**
      * Generic POST request with body
      */
     protected Response post(String endpoint, Object body) {
-        logger.info("POST {} with body: {}", endpoint, body);
-        response = getRequestSpec()
+        logger.debug("POST {} with body: {}", endpoint, body);
+        return track(send("POST", endpoint, () -> getRequestSpec()
                 .body(body)
                 .when()
-                .post(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .post(endpoint)));
+    }
+
+    /**
+     * PUT with a validated JSON body, sent as raw bytes or streamed from a file
+     */
+    protected Response put(String endpoint, JsonRequestBody body) {
+        logger.debug("PUT {} with body: {}", endpoint, body);
+        return track(send("PUT", endpoint, () -> body.applyTo(getRequestSpec()
+                .config(withTimeouts(RAW_BODY_CONFIG)))
+                .when()
+                .put(endpoint)));
     }
 
     /**
      * Generic PUT request with body
      */
     protected Response put(String endpoint, Object body) {
-        logger.info("PUT {} with body: {}", endpoint, body);
-        response = getRequestSpec()
+        logger.debug("PUT {} with body: {}", endpoint, body);
+        return track(send("PUT", endpoint, () -> getRequestSpec()
                 .body(body)
                 .when()
-                .put(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .put(endpoint)));
+    }
+
+    /**
+     * PATCH with a validated JSON body, sent as raw bytes or streamed from a file
+     */
+    protected Response patch(String endpoint, JsonRequestBody body) {
+        logger.debug("PATCH {} with body: {}", endpoint, body);
+        return track(send("PATCH", endpoint, () -> body.applyTo(getRequestSpec()
+                .config(withTimeouts(RAW_BODY_CONFIG)))
+                .when()
+                .patch(endpoint)));
     }
 
     /**
      * Generic PATCH request with body
      */
     protected Response patch(String endpoint, Object body) {
-        logger.info("PATCH {} with body: {}", endpoint, body);
-        response = getRequestSpec()
+        logger.debug("PATCH {} with body: {}", endpoint, body);
+        return track(send("PATCH", endpoint, () -> getRequestSpec()
                 .body(body)
                 .when()
-                .patch(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .patch(endpoint)));
     }
 
     /**
      * Generic DELETE request
      */
     protected Response delete(String endpoint) {
-        logger.info("DELETE {}", endpoint);
-        response = getRequestSpec()
+        logger.debug("DELETE {}", endpoint);
+        return track(send("DELETE", endpoint, () -> getRequestSpec()
                 .when()
-                .delete(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .delete(endpoint)));
     }
 
     /**
      * Generic GET request with path parameters
      */
     protected Response getWithPath(String endpoint, Object... pathParams) {
-        logger.info("GET {} with params: {}", endpoint, pathParams);
-        response = getRequestSpec()
+        logger.debug("GET {} with params: {}", endpoint, pathParams);
+        return track(send("GET", endpoint, () -> getRequestSpec()
                 .when()
-                .get(endpoint, pathParams)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .get(endpoint, pathParams)));
+    }
+
+    /**
+     * GET with path parameters through the limiters, breaker and retries, but
+     * without logging it or replacing the last response, so it can be called
+     * from many threads at once
+     */
+    protected Response getWithPathQuietly(String endpoint, Object... pathParams) {
+        return send("GET", endpoint, () -> getQuietRequestSpec()
+                .when()
+                .get(endpoint, pathParams), false);
     }
 
     /**
      * Generic GET request with query parameters
      */
     protected Response getWithQueryParams(String endpoint, Map<String, Object> queryParams) {
-        logger.info("GET {} with query params: {}", endpoint, queryParams);
-        response = getRequestSpec()
+        logger.debug("GET {} with query params: {}", endpoint, queryParams);
+        return track(send("GET", endpoint, () -> getRequestSpec()
                 .queryParams(queryParams)
                 .when()
-                .get(endpoint)
-                .then()
-                .log().all()
-                .extract().response();
-        return response;
+                .get(endpoint)));
+    }
+
+    /**
+     * Remember the latest response; its body is parsed lazily by getJsonDocument()
+     */
+    private Response track(Response latest) {
+        response = latest;
+        document = null;
+        responseCount++;
+        return latest;
     }
 
     // ===== RESPONSE HELPERS =====
@@ -153,6 +730,31 @@ public abstract class BaseApiClient {
         return response;
     }
 
+    /**
+     * Parsed body of the last response, parsed at most once per response
+     */
+    public JsonDocument getJsonDocument() {
+        if (document == null && response != null) {
+            document = JsonDocument.parse(response.asByteArray());
+            jsonParseCount++;
+        }
+        return document;
+    }
+
+    /**
+     * Number of responses received by this client
+     */
+    public int getResponseCount() {
+        return responseCount;
+    }
+
+    /**
+     * Number of response bodies parsed by this client
+     */
+    public int getJsonParseCount() {
+        return jsonParseCount;
+    }
+
     /**
      * Get response time in milliseconds
      */
@@ -177,9 +779,14 @@ public abstract class BaseApiClient {
     // ===== CHAINING HELPERS =====
 
     /**
-     * Store value for chaining
+     * Store value for chaining (null values are not stored)
      */
     public void storeValue(String key, Object value) {
+        if (value == null) {
+            chainedData.remove(key);
+            logger.warn("Value for {} is null, nothing stored", key);
+            return;
+        }
         chainedData.put(key, value);
         logger.info("Stored value: {} = {}", key, value);
     }
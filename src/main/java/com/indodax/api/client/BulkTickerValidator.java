@@ -0,0 +1,346 @@
+package com.indodax.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Checks every market of a /tickers or /summaries body in one pass.
+ * A byte scan first locates each market object under "tickers" without
+ * decoding anything; the markets are then split into contiguous chunks
+ * parsed with Jackson's streaming parser, in parallel for large payloads.
+ * Decimal strings are read from the parser's char buffer by
+ * {@link Decimals}. Per market: high >= low, buy <= sell and
+ * vol_&lt;quote&gt; within the tolerance of last * vol_&lt;base&gt;. The quote
+ * volume is summed trade by trade over 24 hours, so the tolerance has to allow
+ * for the day's price moves; it is there to catch unit and field mix-ups.
+ */
+public final class BulkTickerValidator {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final byte[] TICKERS = "tickers".getBytes(StandardCharsets.US_ASCII);
+    /**
+     * Below this many markets splitting costs more than it saves
+     */
+    private static final int MIN_MARKETS_PER_CHUNK = 64;
+
+    private final double volumeTolerancePercent;
+
+    public BulkTickerValidator(double volumeTolerancePercent) {
+        this.volumeTolerancePercent = volumeTolerancePercent;
+    }
+
+    public Result validate(byte[] body) {
+        return validate(body, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Validate with at most parallelism chunks in flight
+     */
+    public Result validate(byte[] body, int parallelism) {
+        long start = System.nanoTime();
+        MarketIndex index = MarketIndex.scan(body);
+        int chunks = Math.max(1, Math.min(parallelism, index.count / MIN_MARKETS_PER_CHUNK));
+        List<List<String>> chunkViolations = new ArrayList<>(Collections.nCopies(chunks, null));
+        IntStream range = IntStream.range(0, chunks);
+        (chunks > 1 ? range.parallel() : range).forEach(chunk -> {
+            List<String> violations = new ArrayList<>();
+            int from = (int) ((long) index.count * chunk / chunks);
+            int to = (int) ((long) index.count * (chunk + 1) / chunks);
+            for (int market = from; market < to; market++) {
+                checkMarket(body, index, market, violations);
+            }
+            chunkViolations.set(chunk, violations);
+        });
+
+        List<String> violations = new ArrayList<>();
+        chunkViolations.forEach(violations::addAll);
+        return new Result(index.count, violations, chunks, System.nanoTime() - start);
+    }
+
+    private void checkMarket(byte[] body, MarketIndex index, int market, List<String> violations) {
+        String name = new String(body, index.keyStarts[market], index.keyEnds[market] - index.keyStarts[market],
+                StandardCharsets.UTF_8);
+        int separator = name.indexOf('_');
+        String base = separator > 0 ? name.substring(0, separator) : null;
+        String quote = separator > 0 ? name.substring(separator + 1) : name.endsWith("idr") ? "idr" : null;
+
+        double high = Double.NaN;
+        double low = Double.NaN;
+        double last = Double.NaN;
+        double buy = Double.NaN;
+        double sell = Double.NaN;
+        double baseVolume = Double.NaN;
+        double quoteVolume = Double.NaN;
+        String baseVolumeField = null;
+        int start = index.valueStarts[market];
+        try (JsonParser parser = FACTORY.createParser(body, start, index.valueEnds[market] - start)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                // field names are canonicalized by Jackson, so this allocates nothing per market
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "high" -> high = number(parser, name, field, violations);
+                    case "low" -> low = number(parser, name, field, violations);
+                    case "last" -> last = number(parser, name, field, violations);
+                    case "buy" -> buy = number(parser, name, field, violations);
+                    case "sell" -> sell = number(parser, name, field, violations);
+                    default -> {
+                        if (field.startsWith("vol_")) {
+                            if (isVolumeOf(field, quote)) {
+                                quoteVolume = number(parser, name, field, violations);
+                            } else if (base == null || isVolumeOf(field, base)) {
+                                baseVolume = number(parser, name, field, violations);
+                                baseVolumeField = field;
+                            }
+                        }
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            violations.add(name + ": not valid JSON - " + e.getMessage());
+            return;
+        }
+
+        if (Double.isNaN(high) || Double.isNaN(low) || Double.isNaN(last) || Double.isNaN(buy) || Double.isNaN(sell)) {
+            violations.add(name + ": missing or invalid high/low/last/buy/sell");
+            return;
+        }
+        if (high < low) {
+            violations.add(name + ": high " + Decimals.format(high) + " < low " + Decimals.format(low));
+        }
+        // an empty side of the book is reported as 0
+        if (buy > 0 && sell > 0 && buy > sell) {
+            violations.add(name + ": buy " + Decimals.format(buy) + " > sell " + Decimals.format(sell));
+        }
+        if (!Double.isNaN(baseVolume) && !Double.isNaN(quoteVolume)) {
+            double expected = last * baseVolume;
+            if (Math.abs(quoteVolume - expected) > expected * volumeTolerancePercent / 100) {
+                violations.add(String.format("%s: vol_%s %s is not within %.2f%% of last * %s = %s",
+                        name, quote, Decimals.format(quoteVolume), volumeTolerancePercent, baseVolumeField,
+                        Decimals.format(expected)));
+            }
+        }
+    }
+
+    private static boolean isVolumeOf(String field, String coin) {
+        return coin != null && field.length() == 4 + coin.length() && field.regionMatches(4, coin, 0, coin.length());
+    }
+
+    private static double number(JsonParser parser, String market, String field, List<String> violations)
+            throws IOException {
+        JsonToken token = parser.currentToken();
+        try {
+            if (token == JsonToken.VALUE_STRING) {
+                return Decimals.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return parser.getDoubleValue();
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        violations.add(market + ": " + field + " is not a number: " + parser.getText());
+        return Double.NaN;
+    }
+
+    /**
+     * Byte offsets of each market's name and object under the root "tickers" field
+     */
+    private static final class MarketIndex {
+        private int[] keyStarts = new int[256];
+        private int[] keyEnds = new int[256];
+        private int[] valueStarts = new int[256];
+        private int[] valueEnds = new int[256];
+        private int count;
+
+        static MarketIndex scan(byte[] body) {
+            MarketIndex index = new MarketIndex();
+            int i = skipWhitespace(body, 0);
+            expect(body, i, '{');
+            i = skipWhitespace(body, i + 1);
+            while (body[i] != '}') {
+                expect(body, i, '"');
+                int keyEnd = stringEnd(body, i);
+                int valueStart = skipWhitespace(body, expect(body, skipWhitespace(body, keyEnd + 1), ':') + 1);
+                int valueEnd = valueEnd(body, valueStart);
+                if (body[valueStart] == '{' && Arrays.equals(body, i + 1, keyEnd, TICKERS, 0, TICKERS.length)) {
+                    index.markets(body, valueStart);
+                    return index;
+                }
+                i = skipWhitespace(body, valueEnd);
+                if (body[i] == ',') {
+                    i = skipWhitespace(body, i + 1);
+                }
+            }
+            throw new IllegalArgumentException("Response has no \"tickers\" object");
+        }
+
+        private void markets(byte[] body, int objectStart) {
+            int i = skipWhitespace(body, objectStart + 1);
+            while (body[i] != '}') {
+                expect(body, i, '"');
+                int keyEnd = stringEnd(body, i);
+                int valueStart = skipWhitespace(body, expect(body, skipWhitespace(body, keyEnd + 1), ':') + 1);
+                int valueEnd = valueEnd(body, valueStart);
+                if (body[valueStart] != '{') {
+                    throw new IllegalArgumentException("Market " + new String(body, i + 1, keyEnd - i - 1,
+                            StandardCharsets.UTF_8) + " is not an object");
+                }
+                if (count == keyStarts.length) {
+                    keyStarts = Arrays.copyOf(keyStarts, count * 2);
+                    keyEnds = Arrays.copyOf(keyEnds, count * 2);
+                    valueStarts = Arrays.copyOf(valueStarts, count * 2);
+                    valueEnds = Arrays.copyOf(valueEnds, count * 2);
+                }
+                keyStarts[count] = i + 1;
+                keyEnds[count] = keyEnd;
+                valueStarts[count] = valueStart;
+                valueEnds[count] = valueEnd;
+                count++;
+                i = skipWhitespace(body, valueEnd);
+                if (body[i] == ',') {
+                    i = skipWhitespace(body, i + 1);
+                }
+            }
+        }
+
+        private static int expect(byte[] body, int i, char expected) {
+            if (body[i] != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at byte " + i + " but found '"
+                        + (char) body[i] + "'");
+            }
+            return i;
+        }
+
+        private static int skipWhitespace(byte[] body, int i) {
+            while (i < body.length && (body[i] == ' ' || body[i] == '\n' || body[i] == '\r' || body[i] == '\t')) {
+                i++;
+            }
+            if (i == body.length) {
+                throw new IllegalArgumentException("Unexpected end of response at byte " + i);
+            }
+            return i;
+        }
+
+        /**
+         * Index of the closing quote of the string starting at i
+         */
+        private static int stringEnd(byte[] body, int i) {
+            for (int j = i + 1; j < body.length; j++) {
+                if (body[j] == '\\') {
+                    j++;
+                } else if (body[j] == '"') {
+                    return j;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated string at byte " + i);
+        }
+
+        /**
+         * Index just past the value starting at i
+         */
+        private static int valueEnd(byte[] body, int i) {
+            if (body[i] == '"') {
+                return stringEnd(body, i) + 1;
+            }
+            if (body[i] != '{' && body[i] != '[') {
+                while (i < body.length && body[i] != ',' && body[i] != '}' && body[i] != ']') {
+                    i++;
+                }
+                return i;
+            }
+            int depth = 0;
+            for (int j = i; j < body.length; j++) {
+                byte b = body[j];
+                if (b == '"') {
+                    j = stringEnd(body, j);
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return j + 1;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated value at byte " + i);
+        }
+    }
+
+    /**
+     * Markets checked and every violation found, in payload order.
+     * Each violation starts with the market name and a colon.
+     */
+    public static final class Result {
+        private final int markets;
+        private final List<String> violations;
+        private final int chunks;
+        private final long durationNanos;
+
+        Result(int markets, List<String> violations, int chunks, long durationNanos) {
+            this.markets = markets;
+            this.violations = Collections.unmodifiableList(violations);
+            this.chunks = chunks;
+            this.durationNanos = durationNanos;
+        }
+
+        public int getMarkets() {
+            return markets;
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+
+        /**
+         * Names of the markets with at least one violation, in payload order
+         */
+        public List<String> getInvalidMarkets() {
+            return violations.stream()
+                    .map(violation -> violation.substring(0, violation.indexOf(':')))
+                    .distinct()
+                    .toList();
+        }
+
+        /**
+         * Number of chunks the markets were split into; 1 means validated on the calling thread
+         */
+        public int getChunks() {
+            return chunks;
+        }
+
+        public double getDurationMillis() {
+            return durationNanos / 1_000_000.0;
+        }
+
+        public String summary() {
+            return String.format("%d markets, %d violations, %d chunks, %.2f ms",
+                    markets, violations.size(), chunks, getDurationMillis());
+        }
+
+        /**
+         * Summary followed by one line per violation
+         */
+        public String report() {
+            StringBuilder report = new StringBuilder(summary());
+            violations.forEach(violation -> report.append('\n').append(violation));
+            return report.toString();
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.performance.ApiMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-host circuit breaker shared by every client in the JVM.
+ * After {@code failureThreshold} consecutive failures (I/O errors or 5xx)
+ * the breaker opens and requests fail fast with {@link CircuitOpenException}.
+ * Once {@code openMillis} has passed a single trial request is let through
+ * (half-open): success closes the breaker, failure opens it again.
+ */
+public final class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+    private static final int MAX_TRANSITIONS = 200;
+    private static final ConcurrentLinkedQueue<String> TRANSITIONS = new ConcurrentLinkedQueue<>();
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String host;
+    private final int failureThreshold;
+    private final long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String host, int failureThreshold, long openMillis) {
+        this.host = host;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    public static CircuitBreaker forHost(String host) {
+        return forHost(host, ApiConfig.CIRCUIT_FAILURE_THRESHOLD, ApiConfig.CIRCUIT_OPEN_MS);
+    }
+
+    /**
+     * Breaker of a host, created with the given settings if it has none yet
+     */
+    static CircuitBreaker forHost(String host, int failureThreshold, long openMillis) {
+        return BREAKERS.computeIfAbsent(host, h -> new CircuitBreaker(h, failureThreshold, openMillis));
+    }
+
+    /**
+     * Throw CircuitOpenException unless a request to this host may be sent now.
+     * Every permission must end in onSuccess, onFailure or release.
+     *
+     * @return true if this request is the half-open trial
+     */
+    public synchronized boolean acquirePermission() {
+        if (state == State.CLOSED) {
+            return false;
+        }
+        long elapsed = System.currentTimeMillis() - openedAtMillis;
+        if (state == State.OPEN && elapsed >= openMillis) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        throw new CircuitOpenException(host, Math.max(0, openMillis - elapsed));
+    }
+
+    /**
+     * End a permission whose request says nothing about the host, e.g. it was
+     * never sent or failed on our side; frees the half-open trial if it was one
+     */
+    public synchronized void release(boolean trial) {
+        if (trial) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtMillis = System.currentTimeMillis();
+            transition(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void transition(State to) {
+        String message = host + ": " + state + " -> " + to + " after " + consecutiveFailures + " consecutive failures";
+        logger.warn("Circuit breaker {}", message);
+        ApiMetrics.recordCircuitTransition(host, state.name(), to.name());
+        TRANSITIONS.add(message);
+        if (TRANSITIONS.size() > MAX_TRANSITIONS) {
+            TRANSITIONS.poll();
+        }
+        state = to;
+    }
+
+    /**
+     * Most recent state transitions of all breakers, oldest first
+     */
+    public static List<String> getTransitions() {
+        return new ArrayList<>(TRANSITIONS);
+    }
+
+    public static void logStates() {
+        BREAKERS.forEach((host, breaker) -> logger.info("Circuit breaker {}: {}", host, breaker.getState()));
+    }
+
+    /**
+     * Forget all breakers and transitions
+     */
+    public static void resetAll() {
+        BREAKERS.clear();
+        TRANSITIONS.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package com.indodax.api.client;
+
+/**
+ * Thrown instead of sending a request while the target host's circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String host, long retryInMillis) {
+        super("Circuit breaker for " + host + " is open; failing fast (next trial in " + retryInMillis + " ms)");
+    }
+}
@@ -0,0 +1,57 @@
+package com.indodax.api.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a client's requests must be done, e.g. the end of
+ * a scenario's time budget (api.scenario.timeout). Every request gets at
+ * most the time left, retries and backoff included.
+ */
+public final class Deadline {
+    private static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * No deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Deadline the given time from now; 0 or less means none
+     */
+    public static Deadline after(long millis) {
+        return millis <= 0 ? NONE : new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis), true);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Time left in milliseconds, 0 once expired, Long.MAX_VALUE without a deadline
+     */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? remainingMillis() + " ms left" : "no deadline";
+    }
+}
@@ -0,0 +1,11 @@
+package com.indodax.api.client;
+
+/**
+ * Thrown instead of sending (or retrying) a request once the client's deadline has passed
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String method, String endpoint, Throwable lastFailure) {
+        super("Deadline exceeded for " + method + " " + endpoint, lastFailure);
+    }
+}
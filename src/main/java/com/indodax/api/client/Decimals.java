@@ -0,0 +1,74 @@
+package com.indodax.api.client;
+
+/**
+ * Parses the decimal strings Indodax uses for prices and amounts
+ * ("1065000000", "0.05000000") straight from a character buffer, so hot
+ * loops over thousands of values do not create a String per value.
+ * Plain decimals with up to 15 significant digits take the fast path and give
+ * the same result as {@link Double#parseDouble}; anything else (exponents,
+ * longer mantissas) falls back to it.
+ */
+public final class Decimals {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private Decimals() {
+    }
+
+    /**
+     * Parse chars[offset, offset + length); throws NumberFormatException if it is not a number
+     */
+    public static double parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = i < end && chars[i] == '-';
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenDot = false;
+        boolean seenDigit = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > 15) {
+                        return fallback(chars, offset, length);
+                    }
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenDot) {
+                    scale++;
+                }
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                return fallback(chars, offset, length);
+            }
+        }
+        if (!seenDigit || scale >= POWERS_OF_TEN.length || mantissa >= MAX_EXACT_MANTISSA) {
+            return fallback(chars, offset, length);
+        }
+        // both operands are exact doubles, so the single division is correctly rounded
+        double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Whole numbers without a trailing ".0", e.g. prices in IDR; anything else as Double.toString
+     */
+    public static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static double fallback(char[] chars, int offset, int length) {
+        return Double.parseDouble(new String(chars, offset, length));
+    }
+}
@@ -0,0 +1,207 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.config.LoggingLevel;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Request/response capture for one client.
+ * Keeps the last N exchanges (bodies truncated) in a ring buffer and, depending on
+ * the logging level, writes a summary or full detail through {@link AsyncLogWriter}.
+ * With ON_FAILURE nothing is printed until {@link #dump()} is called for a failed scenario.
+ */
+public class ExchangeLog implements Filter {
+    private final LoggingLevel level;
+    private final int capacity;
+    private final int bodyMaxChars;
+    private final Deque<Exchange> recent;
+
+    public ExchangeLog() {
+        this(ApiConfig.LOGGING_LEVEL, ApiConfig.LOG_BUFFER_SIZE, ApiConfig.LOG_BODY_MAX_CHARS);
+    }
+
+    public ExchangeLog(LoggingLevel level, int capacity, int bodyMaxChars) {
+        this.level = level;
+        this.capacity = Math.max(1, capacity);
+        this.bodyMaxChars = bodyMaxChars;
+        this.recent = new ArrayDeque<>(this.capacity);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // RestAssured can rethrow checked I/O exceptions undeclared
+            record(new Exchange(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                    requestSpec.getBody(), 0, null, null, "Request failed: " + e,
+                    (System.nanoTime() - start) / 1_000_000, bodyMaxChars));
+            throw e;
+        }
+        // raw parts only; they are decoded and truncated if the exchange is ever printed
+        record(new Exchange(
+                requestSpec.getMethod(),
+                requestSpec.getURI(),
+                requestSpec.getHeaders(),
+                requestSpec.getBody(),
+                response.getStatusCode(),
+                response.getHeaders(),
+                response.asByteArray(),
+                null,
+                (System.nanoTime() - start) / 1_000_000,
+                bodyMaxChars));
+        return response;
+    }
+
+    private void record(Exchange exchange) {
+        remember(exchange);
+        if (level == LoggingLevel.SUMMARY) {
+            AsyncLogWriter.submit(exchange::summary);
+        } else if (level == LoggingLevel.FULL) {
+            AsyncLogWriter.submit(exchange::detail);
+        }
+    }
+
+    private synchronized void remember(Exchange exchange) {
+        if (recent.size() == capacity) {
+            recent.removeFirst();
+        }
+        recent.addLast(exchange);
+    }
+
+    /**
+     * Recent exchanges, oldest first
+     */
+    public synchronized List<Exchange> getRecent() {
+        return new ArrayList<>(recent);
+    }
+
+    /**
+     * Full detail of the buffered exchanges; also written to the log unless logging is OFF
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        for (Exchange exchange : getRecent()) {
+            out.append(exchange.detail()).append('\n');
+        }
+        String detail = out.toString();
+        if (level != LoggingLevel.OFF && !detail.isEmpty()) {
+            AsyncLogWriter.submit("Recent HTTP exchanges:\n" + detail);
+        }
+        return detail;
+    }
+
+    public synchronized void clear() {
+        recent.clear();
+    }
+
+    private static String truncate(String body, int maxChars) {
+        if (body == null || body.length() <= maxChars) {
+            return body;
+        }
+        return body.substring(0, maxChars) + "... [" + (body.length() - maxChars) + " more chars]";
+    }
+
+    /**
+     * One captured request/response pair. Headers and bodies are kept as
+     * captured and only turned into (truncated) text when read.
+     */
+    public static final class Exchange {
+        private final String method;
+        private final String uri;
+        private final Headers requestHeaders;
+        private final Object requestBody;
+        private final int statusCode;
+        private final Headers responseHeaders;
+        private final byte[] responseBody;
+        private final String failure;
+        private final long timeMillis;
+        private final int bodyMaxChars;
+
+        Exchange(String method, String uri, Headers requestHeaders, Object requestBody, int statusCode,
+                 Headers responseHeaders, byte[] responseBody, String failure, long timeMillis, int bodyMaxChars) {
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+            this.statusCode = statusCode;
+            this.responseHeaders = responseHeaders;
+            this.responseBody = responseBody;
+            this.failure = failure;
+            this.timeMillis = timeMillis;
+            this.bodyMaxChars = bodyMaxChars;
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String uri() {
+            return uri;
+        }
+
+        public int statusCode() {
+            return statusCode;
+        }
+
+        public long timeMillis() {
+            return timeMillis;
+        }
+
+        public int responseBytes() {
+            return responseBody != null ? responseBody.length : 0;
+        }
+
+        public String requestHeaders() {
+            return requestHeaders != null ? requestHeaders.toString() : "";
+        }
+
+        public String requestBody() {
+            if (requestBody instanceof byte[] bytes) {
+                return truncate(new String(bytes, StandardCharsets.UTF_8), bodyMaxChars);
+            }
+            if (requestBody instanceof File file) {
+                return "[" + file.length() + " bytes streamed from " + file + "]";
+            }
+            return requestBody != null ? truncate(String.valueOf(requestBody), bodyMaxChars) : "";
+        }
+
+        public String responseHeaders() {
+            return responseHeaders != null ? responseHeaders.toString() : "";
+        }
+
+        public String responseBody() {
+            if (failure != null) {
+                return failure;
+            }
+            return responseBody != null ? truncate(new String(responseBody, StandardCharsets.UTF_8), bodyMaxChars) : "";
+        }
+
+        public String summary() {
+            return method + " " + uri + " -> " + statusCode + " in " + timeMillis + "ms (" + responseBytes() + " bytes)";
+        }
+
+        public String detail() {
+            return summary() + "\n"
+                    + "Request headers:\n" + requestHeaders() + "\n"
+                    + (requestBody().isEmpty() ? "" : "Request body:\n" + requestBody() + "\n")
+                    + "Response headers:\n" + responseHeaders() + "\n"
+                    + "Response body:\n" + responseBody() + "\n";
+        }
+    }
+}
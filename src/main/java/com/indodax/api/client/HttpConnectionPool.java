@@ -0,0 +1,164 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.ExecutionContext;
+import org.apache.http.protocol.HTTP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide pooled HTTP connection manager shared by every API client.
+ * Connections are kept alive between requests, so scenarios reuse the TCP/TLS
+ * session instead of paying a new handshake each time.
+ */
+@SuppressWarnings("deprecation")
+public final class HttpConnectionPool {
+    private static final Logger logger = LoggerFactory.getLogger(HttpConnectionPool.class);
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+    /** Abort handle for the requests sent on this thread, see abortable() */
+    private static final ThreadLocal<Abort> ABORT = new ThreadLocal<>();
+
+    private HttpConnectionPool() {
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager();
+        manager.setMaxTotal(ApiConfig.HTTP_POOL_MAX_TOTAL);
+        manager.setDefaultMaxPerRoute(ApiConfig.HTTP_POOL_MAX_PER_ROUTE);
+        return manager;
+    }
+
+    /**
+     * HttpClientConfig whose clients all lease connections from the shared pool.
+     * A new (cheap) client object is created per request, so request parameters
+     * are never shared between threads; only the connections are.
+     */
+    public static HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(HttpConnectionPool::createHttpClient);
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        Abort abort = ABORT.get();
+        if (abort != null) {
+            client.addRequestInterceptor((request, context) ->
+                    abort.bind(context.getAttribute(ExecutionContext.HTTP_CONNECTION)));
+        }
+        client.setKeepAliveStrategy((response, context) -> {
+            BasicHeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+            while (it.hasNext()) {
+                HeaderElement element = it.nextElement();
+                if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                    try {
+                        return Math.min(Long.parseLong(element.getValue()) * 1000, ApiConfig.HTTP_KEEP_ALIVE_MS);
+                    } catch (NumberFormatException ignored) {
+                        // fall through to the configured default
+                    }
+                }
+            }
+            return ApiConfig.HTTP_KEEP_ALIVE_MS;
+        });
+        return client;
+    }
+
+    /**
+     * Run a request on this thread so that another thread can cut it short with
+     * abort.abort(), e.g. the losing half of a hedged GET
+     */
+    static <T> T abortable(Abort abort, Supplier<T> request) {
+        ABORT.set(abort);
+        try {
+            return request.get();
+        } finally {
+            ABORT.remove();
+        }
+    }
+
+    /**
+     * Handle on the pooled connection of an abortable request. Aborting shuts the
+     * connection down, which ends a blocked read with an I/O error and hands the
+     * lease back to the pool instead of holding it until the socket timeout.
+     */
+    static final class Abort {
+        private ConnectionReleaseTrigger connection;
+        private boolean aborted;
+
+        private synchronized void bind(Object connection) throws IOException {
+            if (aborted) {
+                throw new InterruptedIOException("Request aborted");
+            }
+            if (connection instanceof ConnectionReleaseTrigger trigger) {
+                this.connection = trigger;
+            }
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            if (connection != null) {
+                try {
+                    connection.abortConnection();
+                } catch (IOException e) {
+                    logger.debug("Aborting a request failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+    }
+
+    /**
+     * Open connections up front by sending concurrent requests to the given endpoint
+     */
+    public static void warmUp(String baseUrl, String endpoint, int connections) {
+        if (connections <= 0) {
+            return;
+        }
+        RestAssuredConfig config = RestAssuredConfig.config().httpClient(httpClientConfig()
+                .setParam("http.connection.timeout", ApiConfig.CONNECTION_TIMEOUT)
+                .setParam("http.socket.timeout", ApiConfig.SOCKET_TIMEOUT));
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            requests.add(CompletableFuture.runAsync(() -> {
+                try {
+                    RestAssured.given().baseUri(baseUrl).config(config).get(endpoint).asByteArray();
+                } catch (Exception e) {
+                    logger.warn("Connection warm-up request failed: {}", e.getMessage());
+                }
+            }));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        logger.info("Connection pool warmed up: {}", getStats());
+    }
+
+    /**
+     * Current totals across all routes (leased, pending, available, max)
+     */
+    public static PoolStats getStats() {
+        return CONNECTION_MANAGER.getTotalStats();
+    }
+
+    public static void logStats() {
+        PoolStats stats = getStats();
+        logger.info("HTTP connection pool - leased: {}, available: {}, pending: {}, max: {}",
+                stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+}
@@ -4,13 +4,19 @@ import com.indodax.config.ApiConfig;
 import io.restassured.response.Response;
 
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class IndodaxApiClient extends BaseApiClient {
+    private static final Pattern PAIR_PATH = Pattern.compile("^/(ticker|trades|depth)/[^/{]+$");
 
     public IndodaxApiClient() {
-        super();
+        this(ApiConfig.getBaseUrl());
+    }
+
+    public IndodaxApiClient(String baseUrl) {
+        super(baseUrl);
         logger.info("Indodax API Client initialized");
-        logger.info("Base URL: {}", ApiConfig.getBaseUrl());
+        logger.info("Base URL: {}", baseUrl);
         logger.info("Environment: {}", ApiConfig.getCurrentEnvironment());
     }
 
@@ -19,18 +25,45 @@ public class IndodaxApiClient extends BaseApiClient {
     }
 
     public Response getTicker(String pair) {
-        return get("/ticker/" + pair);
+        return getWithPath("/ticker/{pair}", pair);
+    }
+
+    /**
+     * Ticker without replacing the last response; safe to call from worker threads
+     */
+    public Response getTickerQuietly(String pair) {
+        return getWithPathQuietly("/ticker/{pair}", pair);
     }
 
     public Response getAllTickers() {
         return get("/tickers");
     }
 
+    /**
+     * Trading pairs, served from the response cache when enabled
+     */
     public Response getPairs() {
+        return getCached("/pairs");
+    }
+
+    /**
+     * Trading pairs straight from the server, for tests of the endpoint itself
+     */
+    public Response getPairsUncached() {
         return get("/pairs");
     }
 
+    /**
+     * Price increments, served from the response cache when enabled
+     */
     public Response getPriceIncrements() {
+        return getCached("/price_increments");
+    }
+
+    /**
+     * Price increments straight from the server, for tests of the endpoint itself
+     */
+    public Response getPriceIncrementsUncached() {
         return get("/price_increments");
     }
 
@@ -39,17 +72,43 @@ public class IndodaxApiClient extends BaseApiClient {
     }
 
     public Response getTradeHistory(String pair) {
-        return get("/trades/" + pair);
+        return getWithPath("/trades/{pair}", pair);
+    }
+
+    /**
+     * Trade history without replacing the last response; safe to call from worker threads
+     */
+    public Response getTradeHistoryQuietly(String pair) {
+        return getWithPathQuietly("/trades/{pair}", pair);
     }
 
     public Response getDepth(String pair) {
-        return get("/depth/" + pair);
+        return getWithPath("/depth/{pair}", pair);
+    }
+
+    /**
+     * Order book without replacing the last response; safe to call from worker threads
+     */
+    public Response getDepthQuietly(String pair) {
+        return getWithPathQuietly("/depth/{pair}", pair);
+    }
+
+    /**
+     * Group pair-specific paths under one template, e.g. /ticker/btcidr -> /ticker/{pair}
+     */
+    @Override
+    protected String endpointTemplate(String endpoint) {
+        return PAIR_PATH.matcher(super.endpointTemplate(endpoint)).replaceFirst("/$1/{pair}");
     }
 
     public Response sendGet(String endpoint) {
         return get(endpoint);
     }
 
+    public Response sendGetQuietly(String endpoint) {
+        return getQuietly(endpoint);
+    }
+
     public Response sendPost(String endpoint, Map<String, Object> body) {
         return post(endpoint, body);
     }
@@ -62,12 +121,24 @@ public class IndodaxApiClient extends BaseApiClient {
         return patch(endpoint, body);
     }
 
+    public Response sendPost(String endpoint, JsonRequestBody body) {
+        return post(endpoint, body);
+    }
+
+    public Response sendPut(String endpoint, JsonRequestBody body) {
+        return put(endpoint, body);
+    }
+
+    public Response sendPatch(String endpoint, JsonRequestBody body) {
+        return patch(endpoint, body);
+    }
+
     public Response sendDelete(String endpoint) {
         return delete(endpoint);
     }
 
     public void storeDataFromResponse(String key, String jsonPath) {
-        Object value = response.jsonPath().get(jsonPath);
+        Object value = getJsonDocument().get(jsonPath);
         storeValue(key, value);
     }
 
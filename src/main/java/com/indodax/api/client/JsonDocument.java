@@ -0,0 +1,149 @@
+package com.indodax.api.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JacksonUtils;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A response body parsed once into a Jackson tree.
+ * Paths use the same dotted syntax as RestAssured's jsonPath() ("ticker.high",
+ * "[0].id", "$") and are compiled once, then shared by every document.
+ */
+public final class JsonDocument {
+    private static final Configuration CONFIGURATION = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(Option.SUPPRESS_EXCEPTIONS)
+            .build();
+    private static final Map<String, JsonPath> COMPILED_PATHS = new ConcurrentHashMap<>();
+    private static final LongAdder TOTAL_PARSES = new LongAdder();
+
+    private final JsonNode root;
+
+    private JsonDocument(JsonNode root) {
+        this.root = root;
+    }
+
+    /**
+     * Parse a raw JSON body
+     */
+    public static JsonDocument parse(byte[] body) {
+        try {
+            TOTAL_PARSES.increment();
+            return new JsonDocument(JacksonUtils.getReader().readTree(body));
+        } catch (IOException e) {
+            throw new RuntimeException("Response body is not valid JSON", e);
+        }
+    }
+
+    /**
+     * Number of bodies parsed by this process so far
+     */
+    public static long getTotalParseCount() {
+        return TOTAL_PARSES.sum();
+    }
+
+    /**
+     * Parsed tree, e.g. for schema validation
+     */
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Get value at path as plain Java (String, Number, Boolean, List, Map), or null if absent
+     */
+    public Object get(String path) {
+        Object value = compile(path).read(root, CONFIGURATION);
+        return value instanceof JsonNode ? toJava((JsonNode) value) : value;
+    }
+
+    public String getString(String path) {
+        Object value = get(path);
+        return value != null ? value.toString() : null;
+    }
+
+    public double getDouble(String path) {
+        Object value = get(path);
+        if (value == null) {
+            throw new IllegalArgumentException("No value at path: " + path);
+        }
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Object> getList(String path) {
+        return (List<Object>) get(path);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getMap(String path) {
+        return (Map<String, Object>) get(path);
+    }
+
+    private static JsonPath compile(String path) {
+        return COMPILED_PATHS.computeIfAbsent(path, p -> {
+            try {
+                return JsonPath.compile(toJsonPath(p));
+            } catch (InvalidPathException e) {
+                throw new IllegalArgumentException("Unsupported JSON path: " + p, e);
+            }
+        });
+    }
+
+    /**
+     * Translate RestAssured-style paths to Jayway JsonPath syntax
+     */
+    private static String toJsonPath(String path) {
+        if (path == null || path.isEmpty()) {
+            return "$";
+        }
+        if (path.startsWith("$")) {
+            return path;
+        }
+        return path.startsWith("[") ? "$" + path : "$." + path;
+    }
+
+    private static Object toJava(JsonNode node) {
+        if (node == null || node.isNull() || node.isMissingNode()) {
+            return null;
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isNumber()) {
+            return node.numberValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isArray()) {
+            List<Object> list = new ArrayList<>(node.size());
+            for (JsonNode element : node) {
+                list.add(toJava(element));
+            }
+            return list;
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            map.put(field.getKey(), toJava(field.getValue()));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,151 @@
+package com.indodax.api.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JSON request body, checked once with a streaming parser and sent as-is.
+ * The original text goes to the wire unchanged, so numbers, nesting and
+ * values containing ':' or ',' survive. Small bodies are kept as UTF-8
+ * bytes; file-backed bodies are validated and sent by streaming the file,
+ * so multi-megabyte payloads are never held in memory.
+ */
+public final class JsonRequestBody {
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final byte[] bytes;
+    private final Path file;
+    private final long length;
+
+    private JsonRequestBody(byte[] bytes, Path file, long length) {
+        this.bytes = bytes;
+        this.file = file;
+        this.length = length;
+    }
+
+    /**
+     * Body from JSON text; throws IllegalArgumentException if it is not a single valid JSON value
+     */
+    public static JsonRequestBody of(String json) {
+        byte[] bytes = json.trim().getBytes(StandardCharsets.UTF_8);
+        try (JsonParser parser = FACTORY.createParser(bytes)) {
+            validate(parser);
+        } catch (IOException e) {
+            throw invalid("request body", e);
+        }
+        return new JsonRequestBody(bytes, null, bytes.length);
+    }
+
+    /**
+     * Body streamed from a JSON file; the file is read once here to validate it
+     */
+    public static JsonRequestBody of(Path file) {
+        try (InputStream in = Files.newInputStream(file);
+             JsonParser parser = FACTORY.createParser(in)) {
+            validate(parser);
+            return new JsonRequestBody(null, file, Files.size(file));
+        } catch (JsonProcessingException e) {
+            throw invalid(file.toString(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request body from " + file, e);
+        }
+    }
+
+    /**
+     * Generate a (possibly large) body into a temporary file, e.g. a bulk payload
+     */
+    public static JsonRequestBody generate(BodyWriter writer) {
+        try {
+            Path file = Files.createTempFile("request-body", ".json");
+            file.toFile().deleteOnExit();
+            try (JsonGenerator generator = FACTORY.createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+                writer.write(generator);
+            }
+            return new JsonRequestBody(null, file, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate request body", e);
+        }
+    }
+
+    /**
+     * Writes a body with a Jackson streaming generator
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static void validate(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            throw new JsonParseException(parser, "Empty JSON body");
+        }
+        parser.skipChildren();
+        JsonToken trailing = parser.nextToken();
+        if (trailing != null) {
+            throw new JsonParseException(parser, "Unexpected content after the JSON value: " + trailing);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String source, IOException e) {
+        String message = e instanceof JsonProcessingException processing
+                ? processing.getOriginalMessage() + " at line " + processing.getLocation().getLineNr()
+                        + ", column " + processing.getLocation().getColumnNr()
+                : e.getMessage();
+        return new IllegalArgumentException("Invalid JSON in " + source + ": " + message, e);
+    }
+
+    /**
+     * Attach the body through the typed overloads; body(Object) would run byte[] through the object mapper
+     */
+    RequestSpecification applyTo(RequestSpecification spec) {
+        return bytes != null ? spec.body(bytes) : spec.body(file.toFile());
+    }
+
+    /**
+     * Backing file of a streamed body, or null when the body is in memory
+     */
+    Path file() {
+        return file;
+    }
+
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * Size on the wire in bytes
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Up to maxChars of the body as text, for logs and reports
+     */
+    public String preview(int maxChars) {
+        if (bytes != null) {
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            return text.length() <= maxChars ? text : text.substring(0, maxChars) + "... [" + length + " bytes]";
+        }
+        return "[" + length + " bytes streamed from " + file + "]";
+    }
+
+    @Override
+    public String toString() {
+        return preview(200);
+    }
+}
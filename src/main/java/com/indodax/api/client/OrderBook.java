@@ -0,0 +1,336 @@
+package com.indodax.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Order book from the /depth endpoint held in primitive arrays.
+ * The body is read with Jackson's streaming parser straight into
+ * {@code double[]} price and amount arrays, so a book with thousands of
+ * levels costs no boxed values. {@link #read(byte[])} reuses the arrays,
+ * which lets one instance per worker poll depth continuously without
+ * allocating per level.
+ */
+public final class OrderBook {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_VIOLATIONS = 20;
+
+    private double[] bidPrices = new double[INITIAL_CAPACITY];
+    private double[] bidAmounts = new double[INITIAL_CAPACITY];
+    private double[] askPrices = new double[INITIAL_CAPACITY];
+    private double[] askAmounts = new double[INITIAL_CAPACITY];
+    private int bidCount;
+    private int askCount;
+
+    /**
+     * Parse a depth body into a new book
+     */
+    public static OrderBook parse(byte[] body) {
+        return new OrderBook().read(body);
+    }
+
+    /**
+     * Replace the contents of this book with a depth body: {"buy": [[price, amount], ...], "sell": [...]}
+     */
+    public OrderBook read(byte[] body) {
+        bidCount = 0;
+        askCount = 0;
+        boolean sawSide = false;
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Depth response is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_ARRAY && "buy".equals(field)) {
+                    readBids(parser);
+                    sawSide = true;
+                } else if (value == JsonToken.START_ARRAY && "sell".equals(field)) {
+                    readAsks(parser);
+                    sawSide = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Depth response is not valid JSON: " + e.getMessage(), e);
+        }
+        if (!sawSide) {
+            throw new IllegalArgumentException("Depth response has no buy or sell side");
+        }
+        return this;
+    }
+
+    private void readBids(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (bidCount == bidPrices.length) {
+                bidPrices = grow(bidPrices);
+                bidAmounts = grow(bidAmounts);
+            }
+            bidPrices[bidCount] = readNumber(parser);
+            bidAmounts[bidCount] = readNumber(parser);
+            bidCount++;
+            skipRestOfLevel(parser);
+        }
+    }
+
+    private void readAsks(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            if (askCount == askPrices.length) {
+                askPrices = grow(askPrices);
+                askAmounts = grow(askAmounts);
+            }
+            askPrices[askCount] = readNumber(parser);
+            askAmounts[askCount] = readNumber(parser);
+            askCount++;
+            skipRestOfLevel(parser);
+        }
+    }
+
+    /**
+     * Prices come as numbers and amounts as decimal strings; both are read without a String
+     */
+    private static double readNumber(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return Decimals.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        throw new IllegalArgumentException("Expected a number in depth level but got " + token
+                + " at " + parser.getCurrentLocation());
+    }
+
+    private static void skipRestOfLevel(JsonParser parser) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IllegalArgumentException("Depth level is not closed");
+            }
+            parser.skipChildren();
+        }
+    }
+
+    private static double[] grow(double[] values) {
+        double[] grown = new double[values.length * 2];
+        System.arraycopy(values, 0, grown, 0, values.length);
+        return grown;
+    }
+
+    public int getBidCount() {
+        return bidCount;
+    }
+
+    public int getAskCount() {
+        return askCount;
+    }
+
+    public double getBidPrice(int level) {
+        return bidPrices[checkLevel(level, bidCount)];
+    }
+
+    public double getBidAmount(int level) {
+        return bidAmounts[checkLevel(level, bidCount)];
+    }
+
+    public double getAskPrice(int level) {
+        return askPrices[checkLevel(level, askCount)];
+    }
+
+    public double getAskAmount(int level) {
+        return askAmounts[checkLevel(level, askCount)];
+    }
+
+    private static int checkLevel(int level, int count) {
+        if (level < 0 || level >= count) {
+            throw new IndexOutOfBoundsException("Level " + level + " of " + count);
+        }
+        return level;
+    }
+
+    /**
+     * Highest bid, or NaN when there are no bids
+     */
+    public double getBestBid() {
+        return bidCount > 0 ? bidPrices[0] : Double.NaN;
+    }
+
+    /**
+     * Lowest ask, or NaN when there are no asks
+     */
+    public double getBestAsk() {
+        return askCount > 0 ? askPrices[0] : Double.NaN;
+    }
+
+    public double getMid() {
+        return (getBestBid() + getBestAsk()) / 2;
+    }
+
+    public double getSpread() {
+        return getBestAsk() - getBestBid();
+    }
+
+    /**
+     * Spread as a percentage of mid
+     */
+    public double getSpreadPercent() {
+        return getSpread() / getMid() * 100;
+    }
+
+    /**
+     * Largest deviation of best bid from ticker buy and best ask from ticker sell, in percent
+     */
+    public double getTickerDeviationPercent(double tickerBuy, double tickerSell) {
+        double bidDeviation = Math.abs(getBestBid() - tickerBuy) / tickerBuy * 100;
+        double askDeviation = Math.abs(getBestAsk() - tickerSell) / tickerSell * 100;
+        return Math.max(bidDeviation, askDeviation);
+    }
+
+    /**
+     * One pass over both sides: ordering, positive prices and amounts, crossed book,
+     * and the amount resting within depthPercent of mid on each side
+     */
+    public Analysis analyze(double depthPercent) {
+        List<String> violations = null;
+        if (bidCount == 0 || askCount == 0) {
+            violations = add(violations, "empty side: " + bidCount + " bids, " + askCount + " asks");
+            return new Analysis(this, depthPercent, 0, 0, violations);
+        }
+        double mid = getMid();
+        double bidFloor = mid * (1 - depthPercent / 100);
+        double askCeiling = mid * (1 + depthPercent / 100);
+        if (getBestBid() >= getBestAsk()) {
+            violations = add(violations, "crossed book: best bid " + Decimals.format(getBestBid())
+                    + " >= best ask " + Decimals.format(getBestAsk()));
+        }
+
+        double bidDepth = 0;
+        for (int i = 0; i < bidCount; i++) {
+            double price = bidPrices[i];
+            if (price <= 0 || bidAmounts[i] <= 0) {
+                violations = add(violations, "bid level " + i + " has non-positive price or amount: "
+                        + Decimals.format(price) + " x " + Decimals.format(bidAmounts[i]));
+            }
+            if (i > 0 && price >= bidPrices[i - 1]) {
+                violations = add(violations, "bids not descending at level " + i + ": "
+                        + Decimals.format(bidPrices[i - 1]) + " then " + Decimals.format(price));
+            }
+            if (price >= bidFloor) {
+                bidDepth += bidAmounts[i];
+            }
+        }
+
+        double askDepth = 0;
+        for (int i = 0; i < askCount; i++) {
+            double price = askPrices[i];
+            if (price <= 0 || askAmounts[i] <= 0) {
+                violations = add(violations, "ask level " + i + " has non-positive price or amount: "
+                        + Decimals.format(price) + " x " + Decimals.format(askAmounts[i]));
+            }
+            if (i > 0 && price <= askPrices[i - 1]) {
+                violations = add(violations, "asks not ascending at level " + i + ": "
+                        + Decimals.format(askPrices[i - 1]) + " then " + Decimals.format(price));
+            }
+            if (price <= askCeiling) {
+                askDepth += askAmounts[i];
+            }
+        }
+        return new Analysis(this, depthPercent, bidDepth, askDepth, violations);
+    }
+
+    /**
+     * Violation lists are only allocated for broken books and capped, so a bad book cannot flood a report
+     */
+    private static List<String> add(List<String> violations, String violation) {
+        if (violations == null) {
+            violations = new ArrayList<>();
+        }
+        if (violations.size() < MAX_VIOLATIONS) {
+            violations.add(violation);
+        }
+        return violations;
+    }
+
+    /**
+     * Outcome of {@link #analyze(double)}; values are copied, so the book can be reused afterwards
+     */
+    public static final class Analysis {
+        private final int bids;
+        private final int asks;
+        private final double bestBid;
+        private final double bestAsk;
+        private final double depthPercent;
+        private final double bidDepth;
+        private final double askDepth;
+        private final List<String> violations;
+
+        Analysis(OrderBook book, double depthPercent, double bidDepth, double askDepth, List<String> violations) {
+            this.bids = book.bidCount;
+            this.asks = book.askCount;
+            this.bestBid = book.getBestBid();
+            this.bestAsk = book.getBestAsk();
+            this.depthPercent = depthPercent;
+            this.bidDepth = bidDepth;
+            this.askDepth = askDepth;
+            this.violations = violations != null ? Collections.unmodifiableList(violations) : Collections.emptyList();
+        }
+
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+
+        public List<String> getViolations() {
+            return violations;
+        }
+
+        public double getBestBid() {
+            return bestBid;
+        }
+
+        public double getBestAsk() {
+            return bestAsk;
+        }
+
+        public double getSpread() {
+            return bestAsk - bestBid;
+        }
+
+        public double getSpreadPercent() {
+            return getSpread() / ((bestBid + bestAsk) / 2) * 100;
+        }
+
+        /**
+         * Base amount bid within depthPercent below mid
+         */
+        public double getBidDepth() {
+            return bidDepth;
+        }
+
+        /**
+         * Base amount offered within depthPercent above mid
+         */
+        public double getAskDepth() {
+            return askDepth;
+        }
+
+        public String summary() {
+            return String.format("%d bids, %d asks, best %s / %s, spread %.4f%%, depth within %.2f%% of mid: %.8f bid / %.8f ask%s",
+                    bids, asks, Decimals.format(bestBid), Decimals.format(bestAsk), getSpreadPercent(), depthPercent,
+                    bidDepth, askDepth, violations.isEmpty() ? "" : ", violations " + violations);
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
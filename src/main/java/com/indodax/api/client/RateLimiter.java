@@ -0,0 +1,203 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket shared by all threads sending to one host (or one endpoint
+ * group on that host), configured by api.rateLimit.*.
+ * Implemented as GCRA: the whole bucket state is one "theoretical arrival
+ * time" updated with CAS, so callers never take a lock; each caller reserves
+ * its slot and then sleeps outside the CAS loop.
+ * A 429 pushes the arrival time past its Retry-After for every caller and
+ * halves the rate; successes bring it back gradually.
+ */
+public final class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+    private static final int MAX_SLOWDOWN = 16;
+    private static final long DEFAULT_RETRY_AFTER_MILLIS = 1000;
+
+    private final String name;
+    private final long baseIntervalNanos;
+    private final int burst;
+    private final AtomicLong arrivalNanos = new AtomicLong(Long.MIN_VALUE / 2);
+    private final AtomicLong intervalNanos;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * @param requestsPerSecond sustained rate; 0 or less means unlimited (Retry-After is still honoured)
+     * @param burst             requests allowed back to back when the bucket is full
+     */
+    public RateLimiter(String name, double requestsPerSecond, int burst) {
+        this.name = name;
+        this.baseIntervalNanos = requestsPerSecond > 0 ? (long) (1_000_000_000L / requestsPerSecond) : 0;
+        this.burst = Math.max(1, burst);
+        this.intervalNanos = new AtomicLong(baseIntervalNanos);
+    }
+
+    /**
+     * Limiter for a host, from api.rateLimit.rps and api.rateLimit.burst
+     */
+    public static RateLimiter forHost(String host) {
+        return LIMITERS.computeIfAbsent(host,
+                h -> new RateLimiter(h, ApiConfig.RATE_LIMIT_RPS, ApiConfig.RATE_LIMIT_BURST));
+    }
+
+    /**
+     * Limiter for the api.rateLimit.groups entry whose prefix matches the endpoint, or null.
+     * Groups are configured as "prefix=rps:burst", e.g. "/ticker=5:10,/trades=2:2".
+     */
+    public static RateLimiter forGroup(String host, String endpoint) {
+        for (Map.Entry<String, String> group : ApiConfig.RATE_LIMIT_GROUPS.entrySet()) {
+            if (endpoint.startsWith(group.getKey())) {
+                return LIMITERS.computeIfAbsent(host + group.getKey(), key -> fromSpec(key, group.getValue()));
+            }
+        }
+        return null;
+    }
+
+    private static RateLimiter fromSpec(String name, String spec) {
+        String[] parts = spec.split(":");
+        try {
+            double rps = Double.parseDouble(parts[0]);
+            int burst = parts.length > 1 ? Integer.parseInt(parts[1]) : ApiConfig.RATE_LIMIT_BURST;
+            return new RateLimiter(name, rps, burst);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid rate limit '{}' for {}, not limiting", spec, name);
+            return new RateLimiter(name, 0, 1);
+        }
+    }
+
+    /**
+     * Take one token, sleeping until it is available. Returns the nanoseconds waited.
+     */
+    public long acquire() {
+        acquired.increment();
+        long now = System.nanoTime();
+        long interval = intervalNanos.get();
+        if (interval == 0 && arrivalNanos.get() <= now) {
+            return 0;
+        }
+        long wait;
+        while (true) {
+            long current = arrivalNanos.get();
+            long next = Math.max(current, now) + interval;
+            if (arrivalNanos.compareAndSet(current, next)) {
+                wait = next - (long) burst * interval - now;
+                break;
+            }
+        }
+        if (wait <= 0) {
+            return 0;
+        }
+        waited.increment();
+        waitNanos.add(wait);
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rate limiter " + name, e);
+        }
+        return wait;
+    }
+
+    /**
+     * The server answered 429: hold every caller back for retryAfterMillis and halve the rate
+     */
+    public void onThrottled(long retryAfterMillis) {
+        throttled.increment();
+        long interval = intervalNanos.updateAndGet(current -> current == 0 ? 0
+                : Math.min(current * 2, baseIntervalNanos * MAX_SLOWDOWN));
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis) + (long) (burst - 1) * interval;
+        arrivalNanos.accumulateAndGet(until, Math::max);
+        logger.warn("Rate limiter {} throttled by server, pausing {} ms", name, retryAfterMillis);
+    }
+
+    /**
+     * A request went through: move the rate 1/16 of the way back to the configured one
+     */
+    public void onSuccess() {
+        long interval = intervalNanos.get();
+        if (interval > baseIntervalNanos) {
+            intervalNanos.compareAndSet(interval, Math.max(baseIntervalNanos, interval - (interval - baseIntervalNanos) / 16 - 1));
+        }
+    }
+
+    /**
+     * Retry-After as milliseconds: delay-seconds or an HTTP date; a default when absent or unparseable
+     */
+    public static long parseRetryAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return DEFAULT_RETRY_AFTER_MILLIS;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return DEFAULT_RETRY_AFTER_MILLIS;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Total time callers have spent waiting on this limiter
+     */
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+    }
+
+    public long getWaitedCount() {
+        return waited.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Current rate after any 429 slow-down, in requests per second (0 = unlimited)
+     */
+    public double getCurrentRate() {
+        long interval = intervalNanos.get();
+        return interval == 0 ? 0 : 1_000_000_000.0 / interval;
+    }
+
+    public String getStats() {
+        return String.format("%s: %d acquired, %d waited (%d ms total), %d throttled, rate %.1f/s",
+                name, acquired.sum(), getWaitedCount(), getWaitMillis(), getThrottledCount(), getCurrentRate());
+    }
+
+    public static List<RateLimiter> getAll() {
+        return new ArrayList<>(LIMITERS.values());
+    }
+
+    public static void logStats() {
+        LIMITERS.values().stream()
+                .filter(limiter -> limiter.getWaitedCount() > 0 || limiter.getThrottledCount() > 0)
+                .forEach(limiter -> logger.info("Rate limiter {}", limiter.getStats()));
+    }
+}
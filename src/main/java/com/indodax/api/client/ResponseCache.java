@@ -0,0 +1,153 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared LRU cache of reference-data responses (see api.cache.* in ApiConfig).
+ * Entries live for the TTL configured for their endpoint; after that they
+ * are revalidated with If-None-Match / If-Modified-Since when the server
+ * sent an ETag or Last-Modified, and refetched otherwise.
+ */
+public final class ResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > ApiConfig.RESPONSE_CACHE_MAX_ENTRIES) {
+                EVICTIONS.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+    private static final Map<String, Long> TTL_MS = new ConcurrentHashMap<>(ApiConfig.RESPONSE_CACHE_TTL_MS);
+    private static volatile boolean enabled = ApiConfig.RESPONSE_CACHE_ENABLED;
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder REVALIDATIONS = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private ResponseCache() {
+    }
+
+    /**
+     * Cached response with the time it was stored or last revalidated
+     */
+    static final class Entry {
+        final Response response;
+        final long storedAtNanos;
+
+        Entry(Response response, long storedAtNanos) {
+            this.response = response;
+            this.storedAtNanos = storedAtNanos;
+        }
+
+        boolean isFresh(long ttlMillis) {
+            return System.nanoTime() - storedAtNanos < ttlMillis * 1_000_000L;
+        }
+
+        String etag() {
+            return response.getHeader("ETag");
+        }
+
+        String lastModified() {
+            return response.getHeader("Last-Modified");
+        }
+    }
+
+    /**
+     * TTL for an endpoint in milliseconds, or 0 if it is not cacheable
+     */
+    static long ttlMillis(String endpoint) {
+        return enabled ? TTL_MS.getOrDefault(endpoint, 0L) : 0;
+    }
+
+    /**
+     * Turn the cache on or off at runtime, overriding api.cache.enabled
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Set the TTL for an endpoint at runtime; 0 stops caching it
+     */
+    public static void setTtl(String endpoint, long ttlMillis) {
+        TTL_MS.put(endpoint, ttlMillis);
+    }
+
+    static synchronized Entry get(String key) {
+        return ENTRIES.get(key);
+    }
+
+    static synchronized void put(String key, Response response) {
+        ENTRIES.put(key, new Entry(response, System.nanoTime()));
+    }
+
+    static synchronized void remove(String key) {
+        ENTRIES.remove(key);
+    }
+
+    static void hit() {
+        HITS.increment();
+    }
+
+    static void miss() {
+        MISSES.increment();
+    }
+
+    static void revalidated() {
+        REVALIDATIONS.increment();
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Stale entries confirmed by a 304 (also counted as hits)
+     */
+    public static long getRevalidations() {
+        return REVALIDATIONS.sum();
+    }
+
+    public static long getEvictions() {
+        return EVICTIONS.sum();
+    }
+
+    public static synchronized int size() {
+        return ENTRIES.size();
+    }
+
+    public static synchronized void clear() {
+        ENTRIES.clear();
+        HITS.reset();
+        MISSES.reset();
+        REVALIDATIONS.reset();
+        EVICTIONS.reset();
+    }
+
+    public static String getStats() {
+        return String.format("entries=%d, hits=%d, misses=%d, revalidations=%d, evictions=%d",
+                size(), getHits(), getMisses(), getRevalidations(), getEvictions());
+    }
+
+    public static void logStats() {
+        if (enabled) {
+            logger.info("Response cache: {}", getStats());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When and how long to wait before retrying a request.
+ * Only idempotent verbs are retried, on 429 and 5xx responses and I/O errors
+ * (timeouts, refused or reset connections). Backoff doubles per attempt
+ * from {@code baseDelayMillis}, capped at {@code maxDelayMillis}, with
+ * "equal jitter": half the delay is fixed and half random.
+ */
+public final class RetryPolicy {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+    }
+
+    /**
+     * Policy from api.retry.max, api.retry.delay and api.retry.maxDelay
+     */
+    public static RetryPolicy fromConfig() {
+        return new RetryPolicy(ApiConfig.MAX_RETRIES, ApiConfig.RETRY_DELAY, ApiConfig.RETRY_MAX_DELAY);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Total attempts allowed for a method: 1 plus retries when it is idempotent
+     */
+    public int maxAttempts(String method) {
+        return IDEMPOTENT_METHODS.contains(method.toUpperCase()) ? maxRetries + 1 : 1;
+    }
+
+    public static boolean isRetryable(int statusCode) {
+        return statusCode >= 500;
+    }
+
+    public static boolean isRetryable(Exception e) {
+        return e instanceof IOException || e.getCause() instanceof IOException;
+    }
+
+    /**
+     * Delay before retry number {@code retry} (0-based)
+     */
+    public long backoffMillis(int retry) {
+        long exponential = baseDelayMillis << Math.min(retry, 20);
+        long capped = Math.min(maxDelayMillis, exponential);
+        long half = capped / 2;
+        return half + (capped - half > 0 ? ThreadLocalRandom.current().nextLong(capped - half + 1) : 0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.indodax.api.replay;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * RestAssured filter that records every exchange of the run into a shared
+ * {@link RecordingStore}, written out once by {@link #save}. Tests can record
+ * into a store of their own instead.
+ */
+public final class ExchangeRecorder implements Filter {
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRecorder.class);
+    private static final ExchangeRecorder INSTANCE = new ExchangeRecorder(new RecordingStore());
+
+    private final RecordingStore store;
+
+    public ExchangeRecorder(RecordingStore store) {
+        this.store = store;
+    }
+
+    public static ExchangeRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        String uri = requestSpec.getURI();
+        String baseUri = requestSpec.getBaseUri();
+        String path = uri.startsWith(baseUri) ? uri.substring(baseUri.length()) : uri;
+        store.put(requestSpec.getMethod(), path.isEmpty() ? "/" : path,
+                new RecordingStore.Recording(response.getStatusCode(), response.getContentType(), response.asString()));
+        return response;
+    }
+
+    /**
+     * Merge this run's recordings into the given file
+     */
+    public static void save(Path file) {
+        RecordingStore store = INSTANCE.store;
+        if (store.size() == 0) {
+            return;
+        }
+        store.save(file);
+        logger.info("Recorded {} exchanges to {}", store.size(), file);
+    }
+}
@@ -0,0 +1,130 @@
+package com.indodax.api.replay;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Recorded responses keyed by "METHOD /path?query" (path relative to the API base URL).
+ * Stored as a single JSON file; JSON bodies are embedded as JSON so the
+ * file stays readable and diffable, anything else is kept as text.
+ */
+public class RecordingStore {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final Map<String, Recording> recordings = new ConcurrentSkipListMap<>();
+
+    /**
+     * One recorded response
+     */
+    public record Recording(int status, String contentType, String body) {
+    }
+
+    /**
+     * Load a store from disk; a missing file gives an empty store
+     */
+    public static RecordingStore load(Path file) {
+        RecordingStore store = new RecordingStore();
+        if (!Files.exists(file)) {
+            return store;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : root.entrySet()) {
+                JsonObject recording = entry.getValue().getAsJsonObject();
+                String body = recording.has("json")
+                        ? recording.get("json").toString()
+                        : recording.has("text") ? recording.get("text").getAsString() : "";
+                store.recordings.put(entry.getKey(), new Recording(
+                        recording.get("status").getAsInt(),
+                        recording.has("contentType") ? recording.get("contentType").getAsString() : null,
+                        body));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read recordings from " + file, e);
+        }
+        return store;
+    }
+
+    public static String key(String method, String path) {
+        return method.toUpperCase() + " " + path;
+    }
+
+    public void put(String method, String path, Recording recording) {
+        recordings.put(key(method, path), recording);
+    }
+
+    /**
+     * Recording for the exact path and query, falling back to the path without query
+     */
+    public Recording find(String method, String path) {
+        Recording recording = recordings.get(key(method, path));
+        int query = path.indexOf('?');
+        if (recording == null && query >= 0) {
+            recording = recordings.get(key(method, path.substring(0, query)));
+        }
+        return recording;
+    }
+
+    public int size() {
+        return recordings.size();
+    }
+
+    /**
+     * Write all recordings, merged over whatever the file already holds
+     */
+    public void save(Path file) {
+        RecordingStore merged = load(file);
+        merged.recordings.putAll(recordings);
+
+        JsonObject root = new JsonObject();
+        merged.recordings.forEach((key, recording) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("status", recording.status());
+            if (recording.contentType() != null) {
+                entry.addProperty("contentType", recording.contentType());
+            }
+            JsonElement json = asJson(recording);
+            if (json != null) {
+                entry.add("json", json);
+            } else {
+                entry.addProperty("text", recording.body());
+            }
+            root.add(key, entry);
+        });
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                GSON.toJson(root, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write recordings to " + file, e);
+        }
+    }
+
+    private static JsonElement asJson(Recording recording) {
+        if (recording.contentType() == null || !recording.contentType().contains("json")) {
+            return null;
+        }
+        try {
+            return JsonParser.parseString(recording.body());
+        } catch (JsonSyntaxException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.indodax.api.replay;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.performance.WorkerExecutors;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process HTTP server replaying a {@link RecordingStore} under /api.
+ * Latency (fixed plus random jitter) and a rate of 503 errors can be
+ * injected to give the performance features a deterministic target.
+ * Successful responses carry an ETag and honour If-None-Match. Unknown
+ * requests get a 404 naming the missing recording.
+ */
+public class ReplayServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayServer.class);
+    public static final String BASE_PATH = "/api";
+
+    private static ReplayServer local;
+
+    private final RecordingStore store;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    public ReplayServer(RecordingStore store, int port, long latencyMs, long jitterMs, double errorRate) throws IOException {
+        this.store = store;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = WorkerExecutors.newWorkerExecutor("replay", 64);
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH + "/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Start the server for the "local" environment from ApiConfig, once per JVM
+     */
+    public static synchronized ReplayServer startLocal() {
+        if (local == null) {
+            try {
+                RecordingStore store = RecordingStore.load(Paths.get(ApiConfig.RECORDINGS_FILE));
+                local = new ReplayServer(store, ApiConfig.LOCAL_PORT, ApiConfig.LOCAL_LATENCY_MS,
+                        ApiConfig.LOCAL_LATENCY_JITTER_MS, ApiConfig.LOCAL_ERROR_RATE);
+                logger.info("Replaying {} recordings from {} at {}", store.size(), ApiConfig.RECORDINGS_FILE, local.getBaseUrl());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to start replay server on port " + ApiConfig.LOCAL_PORT, e);
+            }
+        }
+        return local;
+    }
+
+    public static synchronized void stopLocal() {
+        if (local != null) {
+            logger.info("Replay server served {} requests ({} injected errors)", local.getServedCount(), local.getInjectedErrorCount());
+            local.close();
+            local = null;
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    public long getServedCount() {
+        return served.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            served.incrementAndGet();
+            delay();
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length())
+                    + (rawQuery != null ? "?" + rawQuery : "");
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, 503, "application/json", "{\"error\":\"injected error\"}");
+                return;
+            }
+            RecordingStore.Recording recording = store.find(exchange.getRequestMethod(), path);
+            if (recording == null) {
+                respond(exchange, 404, "application/json",
+                        "{\"error\":\"no recording for " + RecordingStore.key(exchange.getRequestMethod(), path) + "\"}");
+                return;
+            }
+            String etag = "\"" + Integer.toHexString(recording.body().hashCode()) + "\"";
+            if (recording.status() == 200) {
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    respond(exchange, 304, null, "");
+                    return;
+                }
+            }
+            respond(exchange, recording.status(), recording.contentType(), recording.body());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void delay() {
+        long millis = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -9,11 +9,73 @@ public class ApiConfig {
     public static final int SOCKET_TIMEOUT = getIntProperty("api.timeout.socket", 30000);
     public static final int RESPONSE_TIMEOUT = getIntProperty("api.timeout.response", 30000);
 
+    public static final int HTTP_POOL_MAX_TOTAL = getIntProperty("api.http.pool.maxTotal", 50);
+    public static final int HTTP_POOL_MAX_PER_ROUTE = getIntProperty("api.http.pool.maxPerRoute", 20);
+    public static final int HTTP_KEEP_ALIVE_MS = getIntProperty("api.http.keepAlive", 30000);
+    public static final int HTTP_POOL_WARMUP_CONNECTIONS = getIntProperty("api.http.pool.warmup", 0);
+
     public static final int MAX_RETRIES = getIntProperty("api.retry.max", 3);
     public static final int RETRY_DELAY = getIntProperty("api.retry.delay", 1000);
+    public static final int RETRY_MAX_DELAY = getIntProperty("api.retry.maxDelay", 10000);
+    public static final int CIRCUIT_FAILURE_THRESHOLD = getIntProperty("api.circuit.failureThreshold", 5);
+    public static final int CIRCUIT_OPEN_MS = getIntProperty("api.circuit.openMs", 30000);
+    /**
+     * Per-request time limit (connect and each socket read), capped by the scenario deadline
+     */
     public static final int REQUEST_TIMEOUT_MS = getIntProperty("api.request.timeout", 5000);
-    public static final boolean ENABLE_LOGGING = getBooleanProperty("api.logging.enabled", true);
+    /**
+     * Time budget for all requests of one scenario; 0 means none
+     */
+    public static final int SCENARIO_TIMEOUT_MS = getIntProperty("api.scenario.timeout", 0);
+    public static final boolean HEDGE_ENABLED = getBooleanProperty("api.hedge.enabled", false);
+    public static final double HEDGE_PERCENTILE = getDoubleProperty("api.hedge.percentile", 95);
+    public static final int HEDGE_MIN_DELAY_MS = getIntProperty("api.hedge.minDelayMs", 50);
+    public static final int HEDGE_MIN_SAMPLES = getIntProperty("api.hedge.minSamples", 20);
+    public static final int SAMPLING_CONCURRENCY = getIntProperty("api.sampling.concurrency", 1);
+    public static final int POLLING_CONCURRENCY = getIntProperty("api.polling.concurrency", 8);
+    public static final LoggingLevel LOGGING_LEVEL = getBooleanProperty("api.logging.enabled", true)
+            ? LoggingLevel.parse(getProperty("api.logging.level", null), LoggingLevel.ON_FAILURE)
+            : LoggingLevel.OFF;
+    public static final boolean ENABLE_LOGGING = LOGGING_LEVEL != LoggingLevel.OFF;
+    public static final int LOG_BUFFER_SIZE = getIntProperty("api.logging.bufferSize", 20);
+    public static final int LOG_BODY_MAX_CHARS = getIntProperty("api.logging.bodyMaxChars", 2048);
     public static final boolean ENABLE_ALLURE = getBooleanProperty("api.allure.enabled", true);
+    public static final int ALLURE_ATTACHMENT_MAX_BYTES = getIntProperty("api.allure.attachment.maxBytes", 1024 * 1024);
+    public static final int ALLURE_ATTACHMENT_GZIP_THRESHOLD = getIntProperty("api.allure.attachment.gzipThreshold", 64 * 1024);
+    public static final boolean EXCEL_STREAMING = getBooleanProperty("api.excel.streaming", false);
+    /**
+     * "i/N" to run only the i-th of N duration-balanced shards of the scenarios, see ShardPlanner
+     */
+    public static final String SHARD = getProperty("shard", "").trim();
+    public static final String METRICS_DIR = getProperty("api.metrics.dir",
+            SHARD.isEmpty() ? "target/metrics" : "target/metrics/shard-" + SHARD.replace("/", "-of-"));
+    public static final String PERF_REGRESSION = getProperty("api.perf.regression", "warn").toLowerCase();
+    public static final String PERF_HISTORY_DIR = getProperty("api.perf.historyDir", "target/perf-history");
+    public static final int PERF_BASELINE_RUNS = getIntProperty("api.perf.baselineRuns", 5);
+    public static final int PERF_MIN_SAMPLES = getIntProperty("api.perf.minSamples", 10);
+    public static final int PERF_SAMPLES_PER_SERIES = getIntProperty("api.perf.samplesPerSeries", 128);
+    public static final double PERF_NOISE_PERCENT = getDoubleProperty("api.perf.noisePercent", 25);
+    public static final double PERF_MIN_DELTA_MS = getDoubleProperty("api.perf.minDeltaMs", 5);
+    public static final double PERF_ALPHA = getDoubleProperty("api.perf.alpha", 0.01);
+    public static final String SCENARIO_DURATIONS_FILE =
+            getProperty("api.shard.durations", PERF_HISTORY_DIR + "/scenario-durations.json");
+    public static final String FEATURES_DIR = getProperty("api.features.dir", "src/test/resources/features");
+    public static final int DISTRIBUTED_WORKERS = getIntProperty("api.distributed.workers", 4);
+    public static final int DISTRIBUTED_PORT = getIntProperty("api.distributed.port", 0);
+    public static final int DISTRIBUTED_SCENARIO_TIMEOUT_MS = getIntProperty("api.distributed.scenarioTimeout", 600000);
+    public static final double RATE_LIMIT_RPS = getDoubleProperty("api.rateLimit.rps", 0);
+    public static final int RATE_LIMIT_BURST = getIntProperty("api.rateLimit.burst", 10);
+    public static final Map<String, String> RATE_LIMIT_GROUPS = getMapProperty("api.rateLimit.groups", "");
+    public static final boolean RESPONSE_CACHE_ENABLED = getBooleanProperty("api.cache.enabled", false);
+    public static final int RESPONSE_CACHE_MAX_ENTRIES = getIntProperty("api.cache.maxEntries", 64);
+    public static final Map<String, Long> RESPONSE_CACHE_TTL_MS =
+            getTtlProperty("api.cache.ttl", "/pairs=300000,/price_increments=300000");
+    public static final boolean RECORD_EXCHANGES = getBooleanProperty("api.record", false);
+    public static final String RECORDINGS_FILE = getProperty("api.recordings.file", "src/test/resources/recordings/indodax.json");
+    public static final int LOCAL_PORT = getIntProperty("api.local.port", 18080);
+    public static final int LOCAL_LATENCY_MS = getIntProperty("api.local.latencyMs", 0);
+    public static final int LOCAL_LATENCY_JITTER_MS = getIntProperty("api.local.latencyJitterMs", 0);
+    public static final double LOCAL_ERROR_RATE = getDoubleProperty("api.local.errorRate", 0);
     public static final String DEFAULT_CONTENT_TYPE = getProperty("api.header.contentType", "application/json");
     public static final String DEFAULT_ACCEPT = getProperty("api.header.accept", "application/json");
 
@@ -21,6 +83,8 @@ public class ApiConfig {
         ENVIRONMENTS.put("production", "https://indodax.com/api");
         ENVIRONMENTS.put("staging", "https://staging.indodax.com/api");
         ENVIRONMENTS.put("development", "https://dev.indodax.com/api");
+        // Embedded replay server, see ReplayServer
+        ENVIRONMENTS.put("local", "http://127.0.0.1:" + LOCAL_PORT + "/api");
     }
 
     public static String getBaseUrl() {
@@ -32,6 +96,10 @@ public class ApiConfig {
         return System.getProperty("env", "production").toLowerCase();
     }
 
+    public static boolean isLocalEnvironment() {
+        return "local".equals(getCurrentEnvironment());
+    }
+
     public static boolean isValidEnvironment(String env) {
         return ENVIRONMENTS.containsKey(env.toLowerCase());
     }
@@ -50,6 +118,45 @@ public class ApiConfig {
         }
     }
 
+    /**
+     * Parse "key=value,key=value" into a map, skipping malformed entries
+     */
+    private static Map<String, String> getMapProperty(String key, String defaultValue) {
+        Map<String, String> map = new HashMap<>();
+        for (String entry : getProperty(key, defaultValue).split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length == 2) {
+                map.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return Map.copyOf(map);
+    }
+
+    /**
+     * Parse "endpoint=millis,endpoint=millis" into a map, skipping malformed entries
+     */
+    private static Map<String, Long> getTtlProperty(String key, String defaultValue) {
+        Map<String, Long> ttls = new HashMap<>();
+        getMapProperty(key, defaultValue).forEach((endpoint, millis) -> {
+            try {
+                ttls.put(endpoint, Long.parseLong(millis));
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        });
+        return Map.copyOf(ttls);
+    }
+
+    private static double getDoubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private static boolean getBooleanProperty(String key, boolean defaultValue) {
         String value = System.getProperty(key);
         if (value == null) return defaultValue;
@@ -0,0 +1,29 @@
+package com.indodax.config;
+
+/**
+ * How much of each HTTP exchange gets logged
+ */
+public enum LoggingLevel {
+    /** Nothing is logged */
+    OFF,
+    /** One line per exchange: method, URI, status, time, size */
+    SUMMARY,
+    /** Recent exchanges are kept in memory and printed in full only when a scenario fails */
+    ON_FAILURE,
+    /** Every exchange is printed in full (bodies truncated) */
+    FULL;
+
+    /**
+     * Parse "off", "summary", "on-failure" or "full" (case-insensitive)
+     */
+    public static LoggingLevel parse(String value, LoggingLevel defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+}
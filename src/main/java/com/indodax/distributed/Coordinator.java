@@ -0,0 +1,202 @@
+package com.indodax.distributed;
+
+import com.google.gson.JsonParseException;
+import com.indodax.performance.ShardPlanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands scenarios out to worker JVMs over loopback TCP (see {@link Worker}).
+ * Scenarios wait in one queue, longest first by their recorded duration;
+ * each worker pulls the next one only when it has finished the previous
+ * one, so a slow worker simply takes fewer scenarios and nothing waits
+ * behind it. A scenario whose worker disconnects or stops answering within
+ * api.distributed.scenarioTimeout goes back to the front of the queue once;
+ * after that it is reported as failed.
+ */
+public final class Coordinator implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(Coordinator.class);
+    private static final int MAX_ATTEMPTS = 2;
+
+    private final ServerSocket server;
+    private final int scenarioTimeoutMillis;
+    private final BlockingDeque<ShardPlanner.Unit> queue = new LinkedBlockingDeque<>();
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final CountDownLatch remaining;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "coordinator-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    /**
+     * @param port 0 for any free port, see {@link #getPort()}
+     */
+    public Coordinator(List<ShardPlanner.Unit> units, Map<String, Double> durations, int port,
+                       int scenarioTimeoutMillis) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.scenarioTimeoutMillis = scenarioTimeoutMillis;
+        this.queue.addAll(ShardPlanner.longestFirst(units, durations));
+        this.remaining = new CountDownLatch(units.size());
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Start accepting workers
+     */
+    public void start() {
+        Thread acceptor = new Thread(() -> {
+            while (!closed) {
+                try {
+                    Socket socket = server.accept();
+                    connections.execute(() -> serve(socket));
+                } catch (IOException e) {
+                    if (!closed) {
+                        logger.error("Coordinator stopped accepting workers", e);
+                    }
+                    return;
+                }
+            }
+        }, "coordinator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Coordinator listening on {}:{} with {} scenarios", server.getInetAddress().getHostAddress(),
+                getPort(), queue.size());
+    }
+
+    /**
+     * Wait until every scenario has a result
+     *
+     * @return false if the timeout passed first
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return remaining.await(timeout, unit);
+    }
+
+    /**
+     * Results so far, by scenario id
+     */
+    public Map<String, Result> getResults() {
+        return new TreeMap<>(results);
+    }
+
+    private void serve(Socket socket) {
+        String worker = String.valueOf(socket.getRemoteSocketAddress());
+        ShardPlanner.Unit unit = null;
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            socket.setSoTimeout(scenarioTimeoutMillis);
+            WorkMessage hello = WorkMessage.read(reader);
+            if (hello == null || !WorkMessage.HELLO.equals(hello.type())) {
+                throw new EOFException("Expected HELLO, got " + hello);
+            }
+            if (hello.worker() != null) {
+                worker = hello.worker();
+            }
+            logger.info("Worker {} connected", worker);
+            while ((unit = next()) != null) {
+                WorkMessage.run(unit).writeTo(writer);
+                WorkMessage result = WorkMessage.read(reader);
+                if (result == null || !WorkMessage.RESULT.equals(result.type()) || !unit.id().equals(result.id())) {
+                    throw new EOFException("Expected the result of " + unit.id() + ", got " + result);
+                }
+                complete(unit, new Result(unit.id(), result.status(), result.millis(), worker, result.error()));
+                unit = null;
+            }
+            WorkMessage.done().writeTo(writer);
+            logger.info("Worker {} released", worker);
+        } catch (IOException | JsonParseException e) {
+            if (unit != null) {
+                requeue(unit, worker, e);
+            } else if (!(e instanceof SocketException && closed)) {
+                logger.warn("Worker {} disconnected: {}", worker, e.toString());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (unit != null) {
+                requeue(unit, worker, e);
+            }
+        }
+    }
+
+    /**
+     * Next scenario to hand out, or null once all are done. An idle worker
+     * keeps waiting while others still run, in case one of them is lost.
+     */
+    private ShardPlanner.Unit next() throws InterruptedException {
+        while (!closed && remaining.getCount() > 0) {
+            ShardPlanner.Unit unit = queue.pollFirst(100, TimeUnit.MILLISECONDS);
+            if (unit != null) {
+                return unit;
+            }
+        }
+        return null;
+    }
+
+    private void requeue(ShardPlanner.Unit unit, String worker, Exception cause) {
+        int attempt = attempts.merge(unit.id(), 1, Integer::sum);
+        if (attempt < MAX_ATTEMPTS) {
+            logger.warn("Worker {} lost while running {} ({}), requeued", worker, unit.id(), cause.toString());
+            queue.addFirst(unit);
+        } else {
+            logger.error("Worker {} lost while running {} ({}), giving up after {} attempts",
+                    worker, unit.id(), cause.toString(), attempt);
+            complete(unit, new Result(unit.id(), Result.FAILED, 0, worker, "Worker lost: " + cause));
+        }
+    }
+
+    private void complete(ShardPlanner.Unit unit, Result result) {
+        if (results.putIfAbsent(unit.id(), result) == null) {
+            remaining.countDown();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        connections.shutdownNow();
+        server.close();
+    }
+
+    /**
+     * Outcome of one scenario and the worker that ran it
+     */
+    public record Result(String id, String status, double millis, String worker, String error) {
+        public static final String PASSED = "PASSED";
+        public static final String FAILED = "FAILED";
+        public static final String SKIPPED = "SKIPPED";
+
+        public boolean isFailed() {
+            return FAILED.equals(status);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.indodax.distributed;
+
+import com.google.gson.Gson;
+import com.indodax.performance.ShardPlanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * One line of the coordinator/worker protocol, sent as a JSON line:
+ * HELLO (worker to coordinator, once), RUN (a scenario to run), RESULT (its
+ * outcome) and DONE (no work left, the worker may exit).
+ */
+record WorkMessage(String type, String worker, String id, String feature, int line,
+                   String status, double millis, String error) {
+    static final String HELLO = "HELLO";
+    static final String RUN = "RUN";
+    static final String RESULT = "RESULT";
+    static final String DONE = "DONE";
+    private static final Gson GSON = new Gson();
+
+    static WorkMessage hello(String worker) {
+        return new WorkMessage(HELLO, worker, null, null, 0, null, 0, null);
+    }
+
+    static WorkMessage run(ShardPlanner.Unit unit) {
+        return new WorkMessage(RUN, null, unit.id(), unit.feature().toString(), unit.line(), null, 0, null);
+    }
+
+    static WorkMessage result(String id, String status, double millis, String error) {
+        return new WorkMessage(RESULT, null, id, null, 0, status, millis, error);
+    }
+
+    static WorkMessage done() {
+        return new WorkMessage(DONE, null, null, null, 0, null, 0, null);
+    }
+
+    /**
+     * Next message, or null once the other side closed the connection
+     */
+    static WorkMessage read(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        return line == null ? null : GSON.fromJson(line, WorkMessage.class);
+    }
+
+    void writeTo(Writer writer) throws IOException {
+        writer.write(GSON.toJson(this));
+        writer.write('\n');
+        writer.flush();
+    }
+}
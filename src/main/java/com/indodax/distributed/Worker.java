@@ -0,0 +1,69 @@
+package com.indodax.distributed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Worker side of {@link Coordinator}: connects, then runs one scenario at a
+ * time with the given executor and reports its outcome, until the
+ * coordinator says there is no work left.
+ */
+public final class Worker {
+    private static final Logger logger = LoggerFactory.getLogger(Worker.class);
+
+    private Worker() {
+    }
+
+    /**
+     * Runs the scenario at a line of a feature file
+     */
+    @FunctionalInterface
+    public interface ScenarioExecutor {
+        Outcome run(Path feature, int line);
+    }
+
+    /**
+     * Status (one of the Coordinator.Result constants) and error message, if any
+     */
+    public record Outcome(String status, String error) {
+    }
+
+    /**
+     * Work until the coordinator is done
+     *
+     * @return number of scenarios this worker ran
+     */
+    public static int run(String host, int port, String name, ScenarioExecutor executor) throws IOException {
+        try (Socket socket = new Socket(host, port);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            socket.setTcpNoDelay(true);
+            WorkMessage.hello(name).writeTo(writer);
+            int scenarios = 0;
+            for (WorkMessage message; (message = WorkMessage.read(reader)) != null && WorkMessage.RUN.equals(message.type()); ) {
+                long start = System.nanoTime();
+                Outcome outcome;
+                try {
+                    outcome = executor.run(Paths.get(message.feature()), message.line());
+                } catch (RuntimeException e) {
+                    outcome = new Outcome(Coordinator.Result.FAILED, e.toString());
+                }
+                double millis = (System.nanoTime() - start) / 1_000_000.0;
+                logger.info("Worker {}: {} {} in {} ms", name, message.id(), outcome.status(), String.format("%.0f", millis));
+                WorkMessage.result(message.id(), outcome.status(), millis, outcome.error()).writeTo(writer);
+                scenarios++;
+            }
+            return scenarios;
+        }
+    }
+}
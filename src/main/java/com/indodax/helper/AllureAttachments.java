@@ -0,0 +1,143 @@
+package com.indodax.helper;
+
+import com.indodax.config.ApiConfig;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Allure attachment writer used by the step definitions.
+ * The attachment is registered on the calling thread (Allure tracks the
+ * current step per thread), but the file itself is written by a background
+ * thread. Files are named after a hash of their content, so identical
+ * payloads are written once and shared. Payloads are capped at
+ * api.allure.attachment.maxBytes and gzipped above
+ * api.allure.attachment.gzipThreshold. Call {@link #flush} at the end of the run.
+ */
+public final class AllureAttachments {
+    private static final Logger logger = LoggerFactory.getLogger(AllureAttachments.class);
+    private static final String TEXT = "text/plain";
+    private static final String GZIP = "application/gzip";
+    private static final Set<String> WRITTEN_SOURCES = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong DEDUPLICATED = new AtomicLong();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "allure-attachment-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AllureAttachments() {
+    }
+
+    /**
+     * Attach plain text
+     */
+    public static void attach(String name, String content) {
+        attach(name, TEXT, ".txt", content);
+    }
+
+    /**
+     * Attach text content with the given MIME type and file extension (e.g. "application/json", ".json")
+     */
+    public static void attach(String name, String type, String extension, String content) {
+        attach(name, type, extension, (content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void attach(String name, String type, String extension, byte[] content) {
+        if (!ApiConfig.ENABLE_ALLURE) {
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (current.isEmpty()) {
+            return;
+        }
+
+        byte[] payload = content.length > ApiConfig.ALLURE_ATTACHMENT_MAX_BYTES
+                ? truncate(content, ApiConfig.ALLURE_ATTACHMENT_MAX_BYTES)
+                : content;
+        boolean gzip = payload.length > ApiConfig.ALLURE_ATTACHMENT_GZIP_THRESHOLD;
+        String source = sha256(payload) + "-attachment" + extension + (gzip ? ".gz" : "");
+        Attachment attachment = new Attachment()
+                .setName(name)
+                .setType(gzip ? GZIP : type)
+                .setSource(source);
+        register(lifecycle, current.get(), attachment);
+
+        if (!WRITTEN_SOURCES.add(source)) {
+            DEDUPLICATED.incrementAndGet();
+            return;
+        }
+        WRITER.execute(() -> {
+            try {
+                byte[] bytes = gzip ? gzip(payload) : payload;
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(bytes));
+            } catch (Exception e) {
+                logger.warn("Failed to write Allure attachment {}: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Wait until all queued attachment files are written
+     */
+    public static void flush(long timeout, TimeUnit unit) {
+        try {
+            WRITER.submit(() -> { }).get(timeout, unit);
+            logger.info("Allure attachments flushed: {} files written, {} duplicates skipped",
+                    WRITTEN_SOURCES.size(), DEDUPLICATED.get());
+        } catch (Exception e) {
+            logger.warn("Allure attachments not fully flushed: {}", e.getMessage());
+        }
+    }
+
+    private static void register(AllureLifecycle lifecycle, String uuid, Attachment attachment) {
+        if (lifecycle.getCurrentTestCase().map(uuid::equals).orElse(false)) {
+            lifecycle.updateTestCase(uuid, testCase -> testCase.getAttachments().add(attachment));
+        } else {
+            lifecycle.updateStep(uuid, step -> step.getAttachments().add(attachment));
+        }
+    }
+
+    private static byte[] truncate(byte[] content, int maxBytes) {
+        byte[] marker = ("\n... [truncated " + (content.length - maxBytes) + " bytes]").getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = Arrays.copyOf(content, maxBytes + marker.length);
+        System.arraycopy(marker, 0, truncated, maxBytes, marker.length);
+        return truncated;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
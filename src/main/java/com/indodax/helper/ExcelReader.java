@@ -16,11 +16,12 @@ import java.util.Map;
  * Excel Reader Utility for Data-Driven Testing
  * Reads test data from Excel files (.xlsx)
  */
-public class ExcelReader {
+public class ExcelReader implements TestDataSource {
     private static final Logger logger = LoggerFactory.getLogger(ExcelReader.class);
     private Workbook workbook;
     private Sheet sheet;
     private String filePath;
+    private TestDataIndex index;
 
     public ExcelReader(String filePath) {
         this.filePath = filePath;
@@ -37,8 +38,10 @@ public class ExcelReader {
     /**
      * Select sheet by name
      */
+    @Override
     public void selectSheet(String sheetName) {
         sheet = workbook.getSheet(sheetName);
+        index = null;
         if (sheet == null) {
             throw new RuntimeException("Sheet not found: " + sheetName);
         }
@@ -50,6 +53,7 @@ public class ExcelReader {
      */
     public void selectSheet(int sheetIndex) {
         sheet = workbook.getSheetAt(sheetIndex);
+        index = null;
         logger.info("Sheet selected by index: {}", sheetIndex);
     }
 
@@ -120,6 +124,7 @@ public class ExcelReader {
      * Get all data from sheet as List of Maps
      * First row is treated as headers
      */
+    @Override
     public List<Map<String, String>> getAllDataAsMap() {
         List<Map<String, String>> dataList = new ArrayList<>();
 
@@ -171,23 +176,22 @@ public class ExcelReader {
 
     /**
      * Get data by test case name or Test ID
+     * The sheet is indexed on first lookup, later lookups are O(1)
      */
+    @Override
     public Map<String, String> getTestDataByName(String testCaseName) {
-        List<Map<String, String>> allData = getAllDataAsMap();
-        for (Map<String, String> rowData : allData) {
-            // Check both "Test Case" and "Test ID" columns for backward compatibility
-            if (testCaseName.equals(rowData.get("Test Case")) ||
-                testCaseName.equals(rowData.get("Test ID"))) {
-                logger.info("Test data found for: {}", testCaseName);
-                return rowData;
-            }
+        if (index == null) {
+            index = new TestDataIndex(getAllDataAsMap());
         }
-        throw new RuntimeException("Test case not found: " + testCaseName);
+        Map<String, String> rowData = index.getTestDataByName(testCaseName);
+        logger.info("Test data found for: {}", testCaseName);
+        return rowData;
     }
 
     /**
      * Close workbook
      */
+    @Override
     public void close() {
         try {
             if (workbook != null) {
@@ -0,0 +1,70 @@
+package com.indodax.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JacksonUtils;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of compiled JSON schemas
+ * Each schema is loaded and compiled once; the compiled validators are
+ * immutable and shared by all threads.
+ */
+public final class JsonSchemaRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(JsonSchemaRegistry.class);
+    private static final String SCHEMA_RESOURCE_DIR = "/schemas/";
+    private static final String SCHEMA_FILE_DIR = "src/test/resources/schemas/";
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private JsonSchemaRegistry() {
+    }
+
+    /**
+     * Get the compiled schema, loading it from the classpath (or src/test/resources) on first use
+     */
+    public static JsonSchema getSchema(String schemaFileName) {
+        return SCHEMAS.computeIfAbsent(schemaFileName, JsonSchemaRegistry::compile);
+    }
+
+    /**
+     * Validate a raw JSON body against the schema
+     */
+    public static ProcessingReport validate(String schemaFileName, byte[] body) {
+        try {
+            return validate(schemaFileName, JacksonUtils.getReader().readTree(body));
+        } catch (IOException e) {
+            throw new RuntimeException("Response body is not valid JSON", e);
+        }
+    }
+
+    /**
+     * Validate an already parsed JSON document against the schema
+     */
+    public static ProcessingReport validate(String schemaFileName, JsonNode document) {
+        return getSchema(schemaFileName).validateUnchecked(document, true);
+    }
+
+    private static JsonSchema compile(String schemaFileName) {
+        try {
+            JsonNode schemaNode = JsonSchemaRegistry.class.getResource(SCHEMA_RESOURCE_DIR + schemaFileName) != null
+                    ? JsonLoader.fromResource(SCHEMA_RESOURCE_DIR + schemaFileName)
+                    : JsonLoader.fromFile(new File(SCHEMA_FILE_DIR + schemaFileName));
+            JsonSchema schema = FACTORY.getJsonSchema(schemaNode);
+            logger.info("JSON schema compiled: {}", schemaFileName);
+            return schema;
+        } catch (IOException | ProcessingException e) {
+            throw new RuntimeException("Failed to load JSON schema: " + schemaFileName, e);
+        }
+    }
+}
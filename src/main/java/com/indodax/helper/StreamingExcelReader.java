@@ -0,0 +1,204 @@
+package com.indodax.helper;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Streaming Excel Reader for large data-driven sheets
+ * Reads rows with POI's event model (XSSFReader + SAX), one row at a time,
+ * so memory stays flat no matter how many rows the sheet has.
+ */
+public class StreamingExcelReader implements TestDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExcelReader.class);
+    private final OPCPackage opcPackage;
+    private final XSSFReader xssfReader;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final String filePath;
+    private String sheetName;
+
+    public StreamingExcelReader(String filePath) {
+        this.filePath = filePath;
+        try {
+            opcPackage = OPCPackage.open(filePath, PackageAccess.READ);
+            xssfReader = new XSSFReader(opcPackage);
+            sharedStrings = new ReadOnlySharedStringsTable(opcPackage, false);
+            styles = xssfReader.getStylesTable();
+            logger.info("Excel file opened for streaming: {}", filePath);
+        } catch (Exception e) {
+            logger.error("Failed to open Excel file: {}", filePath, e);
+            throw new RuntimeException("Failed to open Excel file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Select sheet by name
+     */
+    @Override
+    public void selectSheet(String sheetName) {
+        try (InputStream ignored = openSheet(sheetName)) {
+            this.sheetName = sheetName;
+            logger.info("Sheet selected: {}", sheetName);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read sheet: " + sheetName, e);
+        }
+    }
+
+    /**
+     * Stream data rows of the selected sheet to the visitor, stopping as soon as it returns false.
+     * First row is treated as headers.
+     */
+    public void forEachRow(Predicate<Map<String, String>> visitor) {
+        if (sheetName == null) {
+            throw new IllegalStateException("No sheet selected");
+        }
+        try (InputStream sheetStream = openSheet(sheetName)) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, sharedStrings,
+                    new RowHandler(visitor), new DataFormatter(), false));
+            parser.parse(new InputSource(sheetStream));
+        } catch (StopReading stop) {
+            // visitor asked to stop early
+        } catch (Exception e) {
+            if (e.getCause() instanceof StopReading) {
+                return;
+            }
+            logger.error("Failed to read sheet: {}", sheetName, e);
+            throw new RuntimeException("Failed to read sheet: " + sheetName, e);
+        }
+    }
+
+    /**
+     * Get all data from sheet as List of Maps
+     * Note: the list itself grows with the sheet, prefer forEachRow for large sheets
+     */
+    @Override
+    public List<Map<String, String>> getAllDataAsMap() {
+        List<Map<String, String>> dataList = new ArrayList<>();
+        forEachRow(dataList::add);
+        logger.info("Retrieved {} rows of data from sheet", dataList.size());
+        return dataList;
+    }
+
+    /**
+     * Get data by test case name or Test ID, stops reading at the first match
+     */
+    @Override
+    public Map<String, String> getTestDataByName(String testCaseName) {
+        AtomicReference<Map<String, String>> found = new AtomicReference<>();
+        forEachRow(rowData -> {
+            // Check both "Test Case" and "Test ID" columns for backward compatibility
+            if (testCaseName.equals(rowData.get("Test Case")) ||
+                testCaseName.equals(rowData.get("Test ID"))) {
+                found.set(rowData);
+                return false;
+            }
+            return true;
+        });
+        if (found.get() == null) {
+            throw new RuntimeException("Test case not found: " + testCaseName);
+        }
+        logger.info("Test data found for: {}", testCaseName);
+        return found.get();
+    }
+
+    /**
+     * Close the underlying package without writing anything back
+     */
+    @Override
+    public void close() {
+        opcPackage.revert();
+        logger.info("Excel file closed: {}", filePath);
+    }
+
+    private InputStream openSheet(String name) throws Exception {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        while (sheets.hasNext()) {
+            InputStream stream = sheets.next();
+            if (name.equals(sheets.getSheetName())) {
+                return stream;
+            }
+            stream.close();
+        }
+        throw new RuntimeException("Sheet not found: " + name);
+    }
+
+    /**
+     * Turns SAX cell events into header -> value maps, one row at a time
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final Predicate<Map<String, String>> visitor;
+        private final List<String> headers = new ArrayList<>();
+        private Map<String, String> currentRow;
+        private boolean headerRow = true;
+        private int currentColumn;
+
+        RowHandler(Predicate<Map<String, String>> visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentColumn = -1;
+            if (!headerRow) {
+                currentRow = new HashMap<>(headers.size() * 2);
+                for (String header : headers) {
+                    currentRow.put(header, "");
+                }
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headerRow) {
+                headerRow = false;
+                return;
+            }
+            if (!visitor.test(currentRow)) {
+                throw new StopReading();
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            String value = formattedValue != null ? formattedValue : "";
+            if (headerRow) {
+                while (headers.size() < currentColumn) {
+                    headers.add("");
+                }
+                headers.add(value);
+            } else if (currentColumn < headers.size()) {
+                currentRow.put(headers.get(currentColumn), value);
+            }
+        }
+    }
+
+    private static class StopReading extends RuntimeException {
+        StopReading() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.indodax.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of parsed test data sheets
+ * Each sheet is parsed once per run and indexed by "Test Case" / "Test ID".
+ * Entries are keyed by file path, sheet, modification time and size, so an
+ * edited workbook is picked up on the next lookup.
+ */
+public final class TestDataCache {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataCache.class);
+    private static final Map<SheetKey, TestDataIndex> CACHE = new ConcurrentHashMap<>();
+
+    private TestDataCache() {
+    }
+
+    /**
+     * Get the indexed sheet, parsing the workbook only if it is not cached or has changed
+     */
+    public static TestDataIndex getSheet(String filePath, String sheetName) {
+        SheetKey key = keyFor(filePath, sheetName);
+        TestDataIndex index = CACHE.get(key);
+        if (index == null) {
+            index = CACHE.computeIfAbsent(key, TestDataCache::load);
+            // Drop older versions of the same sheet
+            CACHE.keySet().removeIf(k -> k.isOlderVersionOf(key));
+        }
+        return index;
+    }
+
+    /**
+     * Get data by test case name or Test ID
+     */
+    public static Map<String, String> getTestDataByName(String filePath, String sheetName, String testCaseName) {
+        return getSheet(filePath, sheetName).getTestDataByName(testCaseName);
+    }
+
+    /**
+     * Remove all cached sheets
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static SheetKey keyFor(String filePath, String sheetName) {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        try {
+            return new SheetKey(path.toString(), sheetName,
+                    Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load Excel file: " + filePath, e);
+        }
+    }
+
+    private static TestDataIndex load(SheetKey key) {
+        try (TestDataSource reader = TestDataSource.open(key.path())) {
+            reader.selectSheet(key.sheet());
+            TestDataIndex index = new TestDataIndex(reader.getAllDataAsMap());
+            logger.info("Cached test data: {} - Sheet: {} ({} rows)", key.path(), key.sheet(), index.getRows().size());
+            return index;
+        }
+    }
+
+    private record SheetKey(String path, String sheet, long modified, long size) {
+        boolean isOlderVersionOf(SheetKey other) {
+            return path.equals(other.path) && sheet.equals(other.sheet) && !equals(other);
+        }
+    }
+}
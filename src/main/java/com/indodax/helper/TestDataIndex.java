@@ -0,0 +1,54 @@
+package com.indodax.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of one sheet plus a hash index on the "Test Case" and "Test ID" columns.
+ * Immutable once built, so it can be shared between threads.
+ */
+public final class TestDataIndex {
+    private final List<Map<String, String>> rows;
+    private final Map<String, Map<String, String>> byName;
+
+    TestDataIndex(List<Map<String, String>> dataRows) {
+        Map<String, Map<String, String>> index = new HashMap<>(dataRows.size() * 2);
+        List<Map<String, String>> frozen = new ArrayList<>(dataRows.size());
+        for (Map<String, String> row : dataRows) {
+            Map<String, String> frozenRow = Collections.unmodifiableMap(row);
+            frozen.add(frozenRow);
+            // First matching row wins, like the original linear scan
+            putIfNotEmpty(index, row.get("Test Case"), frozenRow);
+            putIfNotEmpty(index, row.get("Test ID"), frozenRow);
+        }
+        this.rows = Collections.unmodifiableList(frozen);
+        this.byName = index;
+    }
+
+    private static void putIfNotEmpty(Map<String, Map<String, String>> index, String key, Map<String, String> row) {
+        if (key != null && !key.isEmpty()) {
+            index.putIfAbsent(key, row);
+        }
+    }
+
+    /**
+     * All data rows, in sheet order
+     */
+    public List<Map<String, String>> getRows() {
+        return rows;
+    }
+
+    /**
+     * Get data by test case name or Test ID
+     */
+    public Map<String, String> getTestDataByName(String testCaseName) {
+        Map<String, String> rowData = byName.get(testCaseName);
+        if (rowData == null) {
+            throw new RuntimeException("Test case not found: " + testCaseName);
+        }
+        return rowData;
+    }
+}
@@ -0,0 +1,29 @@
+package com.indodax.helper;
+
+import com.indodax.config.ApiConfig;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Common API of the Excel test data readers.
+ * Header row is the first row; each data row is returned as header -> value.
+ */
+public interface TestDataSource extends AutoCloseable {
+
+    void selectSheet(String sheetName);
+
+    List<Map<String, String>> getAllDataAsMap();
+
+    Map<String, String> getTestDataByName(String testCaseName);
+
+    @Override
+    void close();
+
+    /**
+     * Open a reader for the given file, streaming when api.excel.streaming=true
+     */
+    static TestDataSource open(String filePath) {
+        return ApiConfig.EXCEL_STREAMING ? new StreamingExcelReader(filePath) : new ExcelReader(filePath);
+    }
+}
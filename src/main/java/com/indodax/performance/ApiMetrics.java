@@ -0,0 +1,395 @@
+package com.indodax.performance;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.indodax.config.ApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide per-endpoint request metrics.
+ * Every request is counted and timed per method, endpoint template, status
+ * class and environment. Recording only touches LongAdder/LongAccumulator
+ * cells (striped, lock-free), so it stays cheap under parallel scenarios.
+ * At the end of the run the registry is exported as Prometheus text and JSON.
+ */
+public final class ApiMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(ApiMetrics.class);
+    /**
+     * Upper bounds of the latency buckets, in milliseconds
+     */
+    private static final double[] BUCKETS_MS = {
+            1, 2.5, 5, 10, 25, 50, 75, 100, 150, 200, 300, 500, 750, 1000, 1500, 2000, 3000, 5000, 10000, 30000};
+    private static final Map<SeriesKey, Series> SERIES = new ConcurrentHashMap<>();
+    private static final Map<RetryKey, LongAdder> RETRIES = new ConcurrentHashMap<>();
+    private static final Map<TransitionKey, LongAdder> TRANSITIONS = new ConcurrentHashMap<>();
+    private static final Map<HedgeKey, LongAdder> HEDGES = new ConcurrentHashMap<>();
+
+    private ApiMetrics() {
+    }
+
+    /**
+     * Record a request that got a response
+     */
+    public static void record(String method, String endpoint, int statusCode, long elapsedNanos) {
+        series(method, endpoint, statusCode / 100 + "xx").record(elapsedNanos);
+    }
+
+    /**
+     * Record a request that failed without a response (timeout, connection error, ...)
+     */
+    public static void recordFailure(String method, String endpoint, long elapsedNanos) {
+        series(method, endpoint, "error").record(elapsedNanos);
+    }
+
+    /**
+     * Record a retry of a request (the retried attempt itself is recorded like any other)
+     */
+    public static void recordRetry(String method, String endpoint) {
+        RETRIES.computeIfAbsent(new RetryKey(method, endpoint, ApiConfig.getCurrentEnvironment()), k -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Record a circuit breaker state change for a host
+     */
+    public static void recordCircuitTransition(String host, String from, String to) {
+        TRANSITIONS.computeIfAbsent(new TransitionKey(host, from, to), k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record a hedged request: a backup was sent because the first attempt
+     * outlived the endpoint's usual latency; backupWon tells which answered first
+     */
+    public static void recordHedge(String method, String endpoint, boolean backupWon) {
+        HEDGES.computeIfAbsent(new HedgeKey(method, endpoint, ApiConfig.getCurrentEnvironment(), backupWon ? "backup" : "primary"),
+                k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Hedged requests recorded for a method and endpoint template in the current environment
+     */
+    public static long getHedgeCount(String method, String endpoint, boolean backupWon) {
+        LongAdder hedges = HEDGES.get(new HedgeKey(method, endpoint, ApiConfig.getCurrentEnvironment(),
+                backupWon ? "backup" : "primary"));
+        return hedges == null ? 0 : hedges.sum();
+    }
+
+    /**
+     * Latency percentile of the 2xx responses of an endpoint template in the
+     * current environment, or -1 while it has fewer than minSamples of them
+     */
+    public static double successPercentileMillis(String method, String endpoint, double percentile, long minSamples) {
+        SeriesKey key = new SeriesKey(method, endpoint, "2xx", ApiConfig.getCurrentEnvironment());
+        Series series = SERIES.get(key);
+        if (series == null || series.count.sum() < Math.max(1, minSamples)) {
+            return -1;
+        }
+        return series.snapshot(key).percentileMillis(percentile);
+    }
+
+    /**
+     * Retries recorded for a method and endpoint template in the current environment
+     */
+    public static long getRetryCount(String method, String endpoint) {
+        LongAdder retries = RETRIES.get(new RetryKey(method, endpoint, ApiConfig.getCurrentEnvironment()));
+        return retries == null ? 0 : retries.sum();
+    }
+
+    private static Series series(String method, String endpoint, String statusClass) {
+        SeriesKey key = new SeriesKey(method, endpoint, statusClass, ApiConfig.getCurrentEnvironment());
+        Series series = SERIES.get(key);
+        return series != null ? series : SERIES.computeIfAbsent(key, k -> new Series());
+    }
+
+    /**
+     * Drop all recorded series
+     */
+    public static void reset() {
+        SERIES.clear();
+        RETRIES.clear();
+        TRANSITIONS.clear();
+        HEDGES.clear();
+    }
+
+    /**
+     * Point-in-time summary of every series, sorted by endpoint then method then status
+     */
+    public static List<SeriesSnapshot> snapshot() {
+        List<SeriesSnapshot> snapshots = new ArrayList<>();
+        SERIES.forEach((key, series) -> snapshots.add(series.snapshot(key)));
+        snapshots.sort(Comparator.comparing(SeriesSnapshot::endpoint)
+                .thenComparing(SeriesSnapshot::method)
+                .thenComparing(SeriesSnapshot::status));
+        return snapshots;
+    }
+
+    /**
+     * Write metrics.prom and metrics.json into the given directory
+     */
+    public static void export(Path directory) {
+        List<SeriesSnapshot> snapshots = snapshot();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("metrics.prom"), toPrometheus(snapshots), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve("metrics.json"), toJson(snapshots), StandardCharsets.UTF_8);
+            logger.info("API metrics exported to {} ({} series)", directory, snapshots.size());
+        } catch (IOException e) {
+            logger.error("Failed to export API metrics to {}", directory, e);
+        }
+    }
+
+    /**
+     * Prometheus text exposition format
+     */
+    public static String toPrometheus(List<SeriesSnapshot> snapshots) {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP indodax_api_requests_total Requests sent to the API\n");
+        out.append("# TYPE indodax_api_requests_total counter\n");
+        for (SeriesSnapshot s : snapshots) {
+            out.append("indodax_api_requests_total{").append(labels(s)).append("} ").append(s.count()).append('\n');
+        }
+        out.append("# HELP indodax_api_request_duration_seconds API request latency\n");
+        out.append("# TYPE indodax_api_request_duration_seconds histogram\n");
+        for (SeriesSnapshot s : snapshots) {
+            String labels = labels(s);
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                cumulative += s.bucketCounts()[i];
+                out.append("indodax_api_request_duration_seconds_bucket{").append(labels)
+                        .append(",le=\"").append(BUCKETS_MS[i] / 1000).append("\"} ").append(cumulative).append('\n');
+            }
+            out.append("indodax_api_request_duration_seconds_bucket{").append(labels)
+                    .append(",le=\"+Inf\"} ").append(s.count()).append('\n');
+            out.append("indodax_api_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(s.sumMillis() / 1000).append('\n');
+            out.append("indodax_api_request_duration_seconds_count{").append(labels).append("} ")
+                    .append(s.count()).append('\n');
+        }
+        if (!RETRIES.isEmpty()) {
+            out.append("# HELP indodax_api_retries_total Requests retried after a 5xx or I/O error\n");
+            out.append("# TYPE indodax_api_retries_total counter\n");
+            RETRIES.forEach((key, count) -> out.append("indodax_api_retries_total{method=\"").append(key.method())
+                    .append("\",endpoint=\"").append(escape(key.endpoint())).append("\",env=\"").append(key.environment())
+                    .append("\"} ").append(count.sum()).append('\n'));
+        }
+        if (!TRANSITIONS.isEmpty()) {
+            out.append("# HELP indodax_api_circuit_transitions_total Circuit breaker state changes\n");
+            out.append("# TYPE indodax_api_circuit_transitions_total counter\n");
+            TRANSITIONS.forEach((key, count) -> out.append("indodax_api_circuit_transitions_total{host=\"")
+                    .append(escape(key.host())).append("\",from=\"").append(key.from()).append("\",to=\"")
+                    .append(key.to()).append("\"} ").append(count.sum()).append('\n'));
+        }
+        if (!HEDGES.isEmpty()) {
+            out.append("# HELP indodax_api_hedged_requests_total Backup requests sent for slow GETs, by which attempt answered first\n");
+            out.append("# TYPE indodax_api_hedged_requests_total counter\n");
+            HEDGES.forEach((key, count) -> out.append("indodax_api_hedged_requests_total{method=\"").append(key.method())
+                    .append("\",endpoint=\"").append(escape(key.endpoint())).append("\",env=\"").append(key.environment())
+                    .append("\",winner=\"").append(key.winner()).append("\"} ").append(count.sum()).append('\n'));
+        }
+        return out.toString();
+    }
+
+    /**
+     * JSON summary with count, mean, max and bucket-estimated percentiles per series
+     */
+    public static String toJson(List<SeriesSnapshot> snapshots) {
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (SeriesSnapshot s : snapshots) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", s.method());
+            entry.put("endpoint", s.endpoint());
+            entry.put("status", s.status());
+            entry.put("environment", s.environment());
+            entry.put("count", s.count());
+            entry.put("meanMs", s.count() == 0 ? 0 : s.sumMillis() / s.count());
+            entry.put("maxMs", s.maxMillis());
+            entry.put("p50Ms", s.percentileMillis(50));
+            entry.put("p90Ms", s.percentileMillis(90));
+            entry.put("p99Ms", s.percentileMillis(99));
+            // raw histogram, so metrics of several shards can be merged exactly
+            entry.put("sumMs", s.sumMillis());
+            entry.put("buckets", s.bucketCounts());
+            series.add(entry);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("environment", ApiConfig.getCurrentEnvironment());
+        root.put("timestamp", System.currentTimeMillis());
+        root.put("series", series);
+        List<Map<String, Object>> retries = new ArrayList<>();
+        RETRIES.forEach((key, count) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", key.method());
+            entry.put("endpoint", key.endpoint());
+            entry.put("count", count.sum());
+            retries.add(entry);
+        });
+        root.put("retries", retries);
+        List<Map<String, Object>> transitions = new ArrayList<>();
+        TRANSITIONS.forEach((key, count) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("host", key.host());
+            entry.put("from", key.from());
+            entry.put("to", key.to());
+            entry.put("count", count.sum());
+            transitions.add(entry);
+        });
+        root.put("circuitTransitions", transitions);
+        List<Map<String, Object>> hedges = new ArrayList<>();
+        HEDGES.forEach((key, count) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", key.method());
+            entry.put("endpoint", key.endpoint());
+            entry.put("winner", key.winner());
+            entry.put("count", count.sum());
+            hedges.add(entry);
+        });
+        root.put("hedges", hedges);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    /**
+     * Add the series, retries and circuit transitions of a metrics.json
+     * written by {@link #export} (e.g. by another shard) to this registry
+     */
+    public static void importJson(Path file) throws IOException {
+        JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+        String environment = root.get("environment").getAsString();
+        for (JsonElement element : root.getAsJsonArray("series")) {
+            JsonObject entry = element.getAsJsonObject();
+            if (!entry.has("buckets")) {
+                throw new IOException(file + " has no bucket counts to merge");
+            }
+            SeriesKey key = new SeriesKey(entry.get("method").getAsString(), entry.get("endpoint").getAsString(),
+                    entry.get("status").getAsString(), entry.get("environment").getAsString());
+            SERIES.computeIfAbsent(key, k -> new Series()).add(entry.get("count").getAsLong(),
+                    entry.get("sumMs").getAsDouble(), entry.get("maxMs").getAsDouble(),
+                    new Gson().fromJson(entry.get("buckets"), long[].class));
+        }
+        for (JsonElement element : root.getAsJsonArray("retries")) {
+            JsonObject entry = element.getAsJsonObject();
+            RETRIES.computeIfAbsent(new RetryKey(entry.get("method").getAsString(), entry.get("endpoint").getAsString(),
+                    environment), k -> new LongAdder()).add(entry.get("count").getAsLong());
+        }
+        for (JsonElement element : root.getAsJsonArray("circuitTransitions")) {
+            JsonObject entry = element.getAsJsonObject();
+            TRANSITIONS.computeIfAbsent(new TransitionKey(entry.get("host").getAsString(), entry.get("from").getAsString(),
+                    entry.get("to").getAsString()), k -> new LongAdder()).add(entry.get("count").getAsLong());
+        }
+        if (root.has("hedges")) {
+            for (JsonElement element : root.getAsJsonArray("hedges")) {
+                JsonObject entry = element.getAsJsonObject();
+                HEDGES.computeIfAbsent(new HedgeKey(entry.get("method").getAsString(), entry.get("endpoint").getAsString(),
+                        environment, entry.get("winner").getAsString()), k -> new LongAdder()).add(entry.get("count").getAsLong());
+            }
+        }
+    }
+
+    private static String labels(SeriesSnapshot s) {
+        return "method=\"" + s.method() + "\",endpoint=\"" + escape(s.endpoint()) + "\",status=\"" + s.status()
+                + "\",env=\"" + s.environment() + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private record SeriesKey(String method, String endpoint, String status, String environment) {
+    }
+
+    private record RetryKey(String method, String endpoint, String environment) {
+    }
+
+    private record TransitionKey(String host, String from, String to) {
+    }
+
+    private record HedgeKey(String method, String endpoint, String environment, String winner) {
+    }
+
+    private static final class Series {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS_MS.length];
+
+        Series() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedNanos) {
+            long micros = elapsedNanos / 1000;
+            count.increment();
+            sumMicros.add(micros);
+            maxMicros.accumulate(micros);
+            double millis = micros / 1000.0;
+            for (int i = 0; i < BUCKETS_MS.length; i++) {
+                if (millis <= BUCKETS_MS[i]) {
+                    buckets[i].increment();
+                    return;
+                }
+            }
+        }
+
+        void add(long requests, double sumMillis, double maxMillis, long[] bucketCounts) {
+            count.add(requests);
+            sumMicros.add(Math.round(sumMillis * 1000));
+            maxMicros.accumulate(Math.round(maxMillis * 1000));
+            for (int i = 0; i < buckets.length && i < bucketCounts.length; i++) {
+                buckets[i].add(bucketCounts[i]);
+            }
+        }
+
+        SeriesSnapshot snapshot(SeriesKey key) {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new SeriesSnapshot(key.method(), key.endpoint(), key.status(), key.environment(),
+                    count.sum(), sumMicros.sum() / 1000.0, maxMicros.get() / 1000.0, counts);
+        }
+    }
+
+    /**
+     * Immutable view of one series
+     */
+    public record SeriesSnapshot(String method, String endpoint, String status, String environment,
+                                 long count, double sumMillis, double maxMillis, long[] bucketCounts) {
+
+        /**
+         * Percentile estimated from the buckets by linear interpolation (like Prometheus histogram_quantile)
+         */
+        public double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double rank = percentile / 100 * count;
+            long cumulative = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                if (cumulative + bucketCounts[i] >= rank && bucketCounts[i] > 0) {
+                    double lower = i == 0 ? 0 : BUCKETS_MS[i - 1];
+                    return Math.min(lower + (BUCKETS_MS[i] - lower) * (rank - cumulative) / bucketCounts[i], maxMillis);
+                }
+                cumulative += bucketCounts[i];
+            }
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.config.ApiConfig;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator on top of IndodaxApiClient.
+ * Each worker keeps its own histogram and counters and they are merged once
+ * at the end, so workers never contend on shared state. Nothing is logged or
+ * attached inside the loop.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final Duration SAMPLING_MAX_DURATION = Duration.ofMinutes(5);
+
+    private final IndodaxApiClient client;
+
+    public LoadGenerator(IndodaxApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Send up to {@code totalRequests} GETs with {@code concurrency} workers, stopping early after {@code maxDuration}.
+     * Concurrency may not exceed api.http.pool.maxPerRoute.
+     */
+    public LoadTestResult run(String endpoint, int totalRequests, int concurrency, Duration maxDuration) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        if (concurrency > ApiConfig.HTTP_POOL_MAX_PER_ROUTE) {
+            // extra workers would wait for a pooled connection and count the wait as latency
+            throw new IllegalArgumentException("Concurrency " + concurrency + " exceeds the " + ApiConfig.HTTP_POOL_MAX_PER_ROUTE
+                    + " connections per route of the shared pool; raise api.http.pool.maxPerRoute");
+        }
+        AtomicLong remaining = new AtomicLong(totalRequests);
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        List<Future<Worker>> workers = new ArrayList<>(concurrency);
+        ExecutorService executor = WorkerExecutors.newWorkerExecutor("load", concurrency);
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> new Worker().run(endpoint, remaining, deadline)));
+            }
+            Histogram latency = newHistogram();
+            long requests = 0;
+            long errors = 0;
+            for (Future<Worker> future : workers) {
+                Worker worker = future.get();
+                latency.add(worker.latency);
+                requests += worker.requests;
+                errors += worker.errors;
+            }
+            LoadTestResult result = new LoadTestResult(endpoint, requests, errors, System.nanoTime() - start, latency);
+            logger.info("Load test finished - {}", result.summary());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Load test interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Load test worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Response-time samples: {@code warmup} GETs that are thrown away (connection setup, JIT), then
+     * {@code samples} measured ones; concurrency 1 sends them one after another
+     */
+    public LoadTestResult sample(String endpoint, int warmup, int samples, int concurrency) {
+        if (warmup > 0) {
+            run(endpoint, warmup, concurrency, SAMPLING_MAX_DURATION);
+        }
+        return run(endpoint, samples, concurrency, SAMPLING_MAX_DURATION);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private class Worker {
+        private final Histogram latency = newHistogram();
+        private long requests;
+        private long errors;
+
+        Worker run(String endpoint, AtomicLong remaining, long deadline) {
+            while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+                long begin = System.nanoTime();
+                boolean failed;
+                try {
+                    Response response = client.sendGetQuietly(endpoint);
+                    failed = response.getStatusCode() >= 400;
+                } catch (Exception e) {
+                    failed = true;
+                }
+                latency.recordValue(Math.min((System.nanoTime() - begin) / 1000, HIGHEST_TRACKABLE_MICROS));
+                requests++;
+                if (failed) {
+                    errors++;
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.indodax.performance;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of one load run: counts, wall time and the latency histogram (microseconds)
+ */
+public class LoadTestResult {
+    private final String endpoint;
+    private final long requests;
+    private final long errors;
+    private final long durationNanos;
+    private final Histogram latencyMicros;
+
+    public LoadTestResult(String endpoint, long requests, long errors, long durationNanos, Histogram latencyMicros) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.errors = errors;
+        this.durationNanos = durationNanos;
+        this.latencyMicros = latencyMicros;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Errors as a percentage of all requests
+     */
+    public double getErrorRatePercent() {
+        return requests == 0 ? 0 : errors * 100.0 / requests;
+    }
+
+    /**
+     * Requests per second over the whole run
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0 : requests * 1_000_000_000.0 / durationNanos;
+    }
+
+    public double getDurationSeconds() {
+        return durationNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * Latency at the given percentile (e.g. 99.9) in milliseconds
+     */
+    public double getLatencyMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latencyMicros;
+    }
+
+    /**
+     * One-line summary for logs and reports
+     */
+    public String summary() {
+        return String.format("%s: %d requests in %.2fs, %.1f req/s, errors %.2f%%, "
+                        + "p50 %.2fms, p90 %.2fms, p99 %.2fms, p99.9 %.2fms, max %.2fms",
+                endpoint, requests, getDurationSeconds(), getThroughput(), getErrorRatePercent(),
+                getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99), getLatencyMillis(99.9),
+                latencyMicros.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.indodax.performance;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive longs with a fixed capacity, for deduplicating ids while
+ * polling. Values live in an open-addressing table (linear probing) and a
+ * ring buffer that remembers insertion order; once the set is full, adding
+ * evicts the oldest value. Memory is allocated once up front, so a set
+ * that sees millions of ids over hours stays the same size.
+ * Not thread-safe. {@link Long#MIN_VALUE} is reserved as the empty slot.
+ */
+public final class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] table;
+    private final int mask;
+    private final long[] ring;
+    private int head;
+    private int size;
+    private long evictions;
+
+    public LongHashSet(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        // load factor at most 0.5 keeps probe sequences short
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        table = new long[tableSize];
+        Arrays.fill(table, EMPTY);
+        mask = tableSize - 1;
+        ring = new long[capacity];
+    }
+
+    public boolean contains(long value) {
+        checkValue(value);
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            long current = table[i];
+            if (current == value) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Add value, evicting the oldest one when full; returns false if it was already present
+     */
+    public boolean add(long value) {
+        if (contains(value)) {
+            return false;
+        }
+        if (size == ring.length) {
+            delete(ring[head]);
+            head = (head + 1) % ring.length;
+            size--;
+            evictions++;
+        }
+        int i = slot(value);
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = value;
+        ring[(head + size) % ring.length] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Oldest value still held, or {@link Long#MIN_VALUE} when empty
+     */
+    public long oldest() {
+        return size > 0 ? ring[head] : EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Values dropped to make room since the set was created
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Remove from the table with backward-shift deletion, so no tombstones pile up
+     */
+    private void delete(long value) {
+        int i = slot(value);
+        while (table[i] != value) {
+            i = (i + 1) & mask;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long current = table[j];
+            if (current == EMPTY) {
+                break;
+            }
+            int home = slot(current);
+            // move current into the hole unless its home lies cyclically in (i, j]
+            boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stays) {
+                table[i] = current;
+                i = j;
+            }
+        }
+        table[i] = EMPTY;
+    }
+
+    private int slot(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static void checkValue(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be stored");
+        }
+    }
+}
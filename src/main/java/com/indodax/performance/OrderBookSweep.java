@@ -0,0 +1,111 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.api.client.OrderBook;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls the order book of every trading pair, {@code rounds} times over, and
+ * validates each book in one pass (ordering, crossed book, positive levels).
+ * A run keeps one {@link OrderBook} per permitted request; a task takes one
+ * for its response and hands it back, so continuous polling allocates nothing
+ * per level, whatever threads the executor uses. The first failure per pair
+ * is kept.
+ */
+public class OrderBookSweep {
+    private static final Logger logger = LoggerFactory.getLogger(OrderBookSweep.class);
+
+    private final IndodaxApiClient client;
+    private final double depthPercent;
+    private final LongAdder booksChecked = new LongAdder();
+    private final LongAdder levelsParsed = new LongAdder();
+
+    public OrderBookSweep(IndodaxApiClient client, double depthPercent) {
+        this.client = client;
+        this.depthPercent = depthPercent;
+    }
+
+    public SweepResult run(int concurrency, int rounds) {
+        if (concurrency < 1 || rounds < 1) {
+            throw new IllegalArgumentException("Concurrency and rounds must be at least 1");
+        }
+        long start = System.nanoTime();
+        List<String> pairs = PairTickerSweep.fetchPairIds(client);
+        Map<String, String> failures = new ConcurrentSkipListMap<>();
+        BlockingQueue<OrderBook> books = new ArrayBlockingQueue<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            books.add(new OrderBook());
+        }
+
+        Semaphore permits = new Semaphore(concurrency);
+        ExecutorService executor = WorkerExecutors.newWorkerExecutor("depth-sweep", concurrency);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                for (String pair : pairs) {
+                    permits.acquire();
+                    executor.execute(() -> {
+                        // one book per permit, and it is back before the permit is
+                        OrderBook book = books.poll();
+                        try {
+                            String failure = checkOrderBook(pair, book);
+                            if (failure != null) {
+                                failures.putIfAbsent(pair, failure);
+                            }
+                        } catch (Exception e) {
+                            failures.putIfAbsent(pair, "request failed: " + e.getMessage());
+                        } finally {
+                            books.add(book);
+                            permits.release();
+                        }
+                    });
+                }
+            }
+            // all permits back means every task has finished
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Order book sweep interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SweepResult result = new SweepResult(pairs.size(), failures, System.nanoTime() - start);
+        logger.info("Order book sweep finished - {}, {} rounds, {} books, {} levels",
+                result.summary(), rounds, booksChecked.sum(), levelsParsed.sum());
+        return result;
+    }
+
+    /**
+     * Returns null when the book is valid
+     */
+    private String checkOrderBook(String pair, OrderBook book) {
+        Response response = client.getDepthQuietly(pair);
+        if (response.getStatusCode() != 200) {
+            return "status " + response.getStatusCode();
+        }
+        book.read(response.asByteArray());
+        booksChecked.increment();
+        levelsParsed.add(book.getBidCount() + book.getAskCount());
+        OrderBook.Analysis analysis = book.analyze(depthPercent);
+        return analysis.isValid() ? null : String.join("; ", analysis.getViolations());
+    }
+
+    public long getBooksChecked() {
+        return booksChecked.sum();
+    }
+
+    public long getLevelsParsed() {
+        return levelsParsed.sum();
+    }
+}
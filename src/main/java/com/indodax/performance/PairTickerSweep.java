@@ -0,0 +1,118 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.api.client.JsonDocument;
+import io.restassured.response.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fetches the pair list once and validates the ticker of every pair.
+ * Ticker requests fan out on a worker executor with at most
+ * {@code concurrency} in flight. Failures are collected per pair instead of
+ * stopping at the first one, so a single run reports every broken pair.
+ */
+public class PairTickerSweep {
+    private static final Logger logger = LoggerFactory.getLogger(PairTickerSweep.class);
+    private static final String[] TICKER_FIELDS = {"high", "low", "last", "buy", "sell"};
+
+    private final IndodaxApiClient client;
+
+    public PairTickerSweep(IndodaxApiClient client) {
+        this.client = client;
+    }
+
+    public SweepResult run(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1");
+        }
+        long start = System.nanoTime();
+        List<String> pairs = fetchPairIds(client);
+        Map<String, String> failures = new ConcurrentSkipListMap<>();
+
+        Semaphore permits = new Semaphore(concurrency);
+        ExecutorService executor = WorkerExecutors.newWorkerExecutor("pair-sweep", concurrency);
+        try {
+            for (String pair : pairs) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        String failure = checkTicker(pair);
+                        if (failure != null) {
+                            failures.put(pair, failure);
+                        }
+                    } catch (Exception e) {
+                        failures.put(pair, "request failed: " + e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            // all permits back means every task has finished
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Pair sweep interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SweepResult result = new SweepResult(pairs.size(), failures, System.nanoTime() - start);
+        logger.info("Pair sweep finished - {}", result.summary());
+        return result;
+    }
+
+    /**
+     * Ids of every trading pair, shared with the other per-pair sweeps
+     */
+    public static List<String> fetchPairIds(IndodaxApiClient client) {
+        Response response = client.getPairs();
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("Pairs endpoint returned " + response.getStatusCode());
+        }
+        List<Object> pairs = JsonDocument.parse(response.asByteArray()).getList("$");
+        List<String> ids = new ArrayList<>(pairs.size());
+        for (Object pair : pairs) {
+            if (pair instanceof Map<?, ?> map && map.get("id") != null) {
+                ids.add(String.valueOf(map.get("id")));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Same checks as the single-pair ticker steps; returns null when the ticker is valid
+     */
+    private String checkTicker(String pair) {
+        Response response = client.getTickerQuietly(pair);
+        if (response.getStatusCode() != 200) {
+            return "status " + response.getStatusCode();
+        }
+        JsonDocument json = JsonDocument.parse(response.asByteArray());
+        if (json.get("ticker") == null) {
+            return "missing ticker";
+        }
+        List<String> missing = new ArrayList<>();
+        for (String field : TICKER_FIELDS) {
+            if (json.get("ticker." + field) == null) {
+                missing.add(field);
+            }
+        }
+        if (!missing.isEmpty()) {
+            return "missing fields " + missing;
+        }
+        double high = Double.parseDouble(json.getString("ticker.high"));
+        double low = Double.parseDouble(json.getString("ticker.low"));
+        if (high < low) {
+            return "high " + json.getString("ticker.high") + " < low " + json.getString("ticker.low");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,367 @@
+package com.indodax.performance;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
+import com.indodax.config.ApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cross-run latency history, configured by api.perf.*.
+ * Every successful request (per method and endpoint template) and every
+ * scenario (total request time of its client) feeds a bounded reservoir of
+ * samples. At the end of the run the samples are compared with the pooled
+ * samples of the last api.perf.baselineRuns runs in the same environment and
+ * then appended as one line to history.jsonl.
+ * A series regresses when a one-sided Mann-Whitney U test says it got slower
+ * (p below api.perf.alpha) and its median grew by more than both
+ * api.perf.noisePercent and api.perf.minDeltaMs, so a small or noisy shift
+ * does not trip it.
+ */
+public final class PerfHistory {
+    private static final Logger logger = LoggerFactory.getLogger(PerfHistory.class);
+    public static final String HISTORY_FILE = "history.jsonl";
+    public static final String REPORT_FILE = "perf-regressions.txt";
+    private static final Map<String, Reservoir> SERIES = new ConcurrentHashMap<>();
+    private static final Gson GSON = new Gson();
+
+    private PerfHistory() {
+    }
+
+    /**
+     * False when api.perf.regression is "off"
+     */
+    public static boolean isEnabled() {
+        return !"off".equals(ApiConfig.PERF_REGRESSION);
+    }
+
+    /**
+     * True when a regression should fail the run rather than only warn
+     */
+    public static boolean failsOnRegression() {
+        return "fail".equals(ApiConfig.PERF_REGRESSION);
+    }
+
+    /**
+     * Record the latency of a request that got a 2xx response
+     */
+    public static void recordRequest(String method, String endpoint, long elapsedNanos) {
+        if (isEnabled()) {
+            reservoir(method + " " + endpoint).record(elapsedNanos);
+        }
+    }
+
+    /**
+     * Record the time a scenario spent waiting on requests
+     */
+    public static void recordScenario(String name, long elapsedNanos) {
+        if (isEnabled()) {
+            reservoir("scenario " + name).record(elapsedNanos);
+        }
+    }
+
+    private static Reservoir reservoir(String series) {
+        Reservoir reservoir = SERIES.get(series);
+        return reservoir != null ? reservoir
+                : SERIES.computeIfAbsent(series, k -> new Reservoir(ApiConfig.PERF_SAMPLES_PER_SERIES));
+    }
+
+    /**
+     * Drop all recorded samples
+     */
+    public static void reset() {
+        SERIES.clear();
+    }
+
+    /**
+     * Sorted latency samples of every series in milliseconds, by series name
+     */
+    public static Map<String, double[]> snapshot() {
+        Map<String, double[]> samples = new TreeMap<>();
+        SERIES.forEach((series, reservoir) -> samples.put(series, reservoir.samplesMillis()));
+        return samples;
+    }
+
+    /**
+     * Compare this run with the history in the directory, then append it.
+     * Regressions are logged and written to perf-regressions.txt in reportDirectory.
+     */
+    public static List<Regression> checkAndAppend(Path historyDirectory, Path reportDirectory) {
+        Map<String, double[]> current = snapshot();
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        String environment = ApiConfig.getCurrentEnvironment();
+        Path history = historyDirectory.resolve(HISTORY_FILE);
+        List<Map<String, double[]>> baseline = loadBaseline(history, environment, ApiConfig.PERF_BASELINE_RUNS);
+        List<Regression> regressions = compare(current, baseline);
+        append(history, environment, current);
+
+        try {
+            Files.createDirectories(reportDirectory);
+            Path report = reportDirectory.resolve(REPORT_FILE);
+            if (regressions.isEmpty()) {
+                Files.deleteIfExists(report);
+            } else {
+                StringBuilder text = new StringBuilder();
+                regressions.forEach(regression -> text.append(regression).append('\n'));
+                Files.writeString(report, text, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write latency regression report to {}", reportDirectory, e);
+        }
+
+        if (baseline.isEmpty()) {
+            logger.info("No latency baseline for environment {} yet, {} series stored in {}", environment, current.size(), history);
+        } else {
+            logger.info("Compared {} latency series against {} previous runs: {} regressed",
+                    current.size(), baseline.size(), regressions.size());
+            regressions.forEach(regression -> logger.warn("Latency regression: {}", regression));
+        }
+        return regressions;
+    }
+
+    /**
+     * Samples of the last runs in the given environment, oldest first
+     */
+    static List<Map<String, double[]>> loadBaseline(Path history, String environment, int runs) {
+        if (runs <= 0 || !Files.exists(history)) {
+            return List.of();
+        }
+        Deque<Map<String, double[]>> baseline = new ArrayDeque<>(runs);
+        try {
+            for (String line : Files.readAllLines(history, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonObject run;
+                try {
+                    run = JsonParser.parseString(line).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // a run killed halfway through writing its line; skip it
+                    continue;
+                }
+                if (!run.has("environment") || !environment.equals(run.get("environment").getAsString())) {
+                    continue;
+                }
+                Map<String, double[]> samples = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> series : run.getAsJsonObject("series").entrySet()) {
+                    samples.put(series.getKey(), GSON.fromJson(series.getValue().getAsJsonObject().get("samplesMs"), double[].class));
+                }
+                if (baseline.size() == runs) {
+                    baseline.removeFirst();
+                }
+                baseline.addLast(samples);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read latency history {}", history, e);
+        }
+        return new ArrayList<>(baseline);
+    }
+
+    /**
+     * Append one run as a single JSON line
+     */
+    static void append(Path history, String environment, Map<String, double[]> samples) {
+        Map<String, Object> series = new LinkedHashMap<>();
+        samples.forEach((name, unsorted) -> {
+            double[] values = unsorted.clone();
+            Arrays.sort(values);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", values.length);
+            entry.put("p50Ms", round(percentile(values, 50)));
+            entry.put("p95Ms", round(percentile(values, 95)));
+            double[] rounded = new double[values.length];
+            for (int i = 0; i < values.length; i++) {
+                rounded[i] = round(values[i]);
+            }
+            entry.put("samplesMs", rounded);
+            series.put(name, entry);
+        });
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("timestamp", System.currentTimeMillis());
+        run.put("environment", environment);
+        run.put("series", series);
+        try {
+            Files.createDirectories(history.toAbsolutePath().getParent());
+            Files.writeString(history, GSON.toJson(run) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Failed to append latency history to {}", history, e);
+        }
+    }
+
+    /**
+     * Series of the current run that got slower than the pooled baseline runs
+     */
+    public static List<Regression> compare(Map<String, double[]> current, List<Map<String, double[]>> baselineRuns) {
+        List<Regression> regressions = new ArrayList<>();
+        current.forEach((series, samples) -> {
+            double[] baseline = baselineRuns.stream()
+                    .map(run -> run.get(series))
+                    .filter(values -> values != null)
+                    .flatMapToDouble(Arrays::stream)
+                    .sorted()
+                    .toArray();
+            if (samples.length < ApiConfig.PERF_MIN_SAMPLES || baseline.length < ApiConfig.PERF_MIN_SAMPLES) {
+                return;
+            }
+            double[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            double baselineP50 = percentile(baseline, 50);
+            double p50 = percentile(sorted, 50);
+            double delta = p50 - baselineP50;
+            if (delta < ApiConfig.PERF_MIN_DELTA_MS || delta < baselineP50 * ApiConfig.PERF_NOISE_PERCENT / 100) {
+                return;
+            }
+            double pValue = mannWhitneyPValue(sorted, baseline);
+            if (pValue < ApiConfig.PERF_ALPHA) {
+                regressions.add(new Regression(series, sorted.length, baseline.length, baselineP50, p50,
+                        percentile(baseline, 95), percentile(sorted, 95), pValue));
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * One-sided p-value that the current samples are stochastically larger
+     * than the baseline (Mann-Whitney U, normal approximation with tie and
+     * continuity correction)
+     */
+    static double mannWhitneyPValue(double[] current, double[] baseline) {
+        int n1 = current.length;
+        int n2 = baseline.length;
+        int n = n1 + n2;
+        double[] values = new double[n];
+        boolean[] fromCurrent = new boolean[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i < n1 ? current[i] : baseline[i - n1];
+            fromCurrent[i] = i < n1;
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        double currentRankSum = 0;
+        double tieTerm = 0;
+        for (int start = 0; start < n; ) {
+            int end = start;
+            while (end + 1 < n && values[order[end + 1]] == values[order[start]]) {
+                end++;
+            }
+            // tied values share the average of their ranks (ranks are 1-based)
+            double rank = (start + end) / 2.0 + 1;
+            for (int i = start; i <= end; i++) {
+                if (fromCurrent[order[i]]) {
+                    currentRankSum += rank;
+                }
+            }
+            double ties = end - start + 1;
+            tieTerm += ties * ties * ties - ties;
+            start = end + 1;
+        }
+
+        double u = currentRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    /**
+     * Standard normal CDF (Abramowitz and Stegun 26.2.17, error below 7.5e-8)
+     */
+    private static double normalCdf(double z) {
+        double t = 1 / (1 + 0.2316419 * Math.abs(z));
+        double density = Math.exp(-z * z / 2) / Math.sqrt(2 * Math.PI);
+        double tail = density * t * (0.319381530 + t * (-0.356563782 + t * (1.781477937
+                + t * (-1.821255978 + t * 1.330274429))));
+        return z >= 0 ? 1 - tail : tail;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static double percentile(double[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 10) / 10.0;
+    }
+
+    /**
+     * Uniform sample of at most capacity latencies (Vitter's algorithm R)
+     */
+    private static final class Reservoir {
+        private final long[] samplesNanos;
+        private long seen;
+
+        Reservoir(int capacity) {
+            samplesNanos = new long[Math.max(1, capacity)];
+        }
+
+        synchronized void record(long elapsedNanos) {
+            if (seen < samplesNanos.length) {
+                samplesNanos[(int) seen] = elapsedNanos;
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(seen + 1);
+                if (slot < samplesNanos.length) {
+                    samplesNanos[(int) slot] = elapsedNanos;
+                }
+            }
+            seen++;
+        }
+
+        synchronized double[] samplesMillis() {
+            int size = (int) Math.min(seen, samplesNanos.length);
+            double[] millis = new double[size];
+            for (int i = 0; i < size; i++) {
+                millis[i] = samplesNanos[i] / 1_000_000.0;
+            }
+            Arrays.sort(millis);
+            return millis;
+        }
+    }
+
+    /**
+     * A series whose latency went up against the baseline
+     */
+    public record Regression(String series, int samples, int baselineSamples, double baselineP50Ms, double p50Ms,
+                             double baselineP95Ms, double p95Ms, double pValue) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: p50 %.1f -> %.1f ms (%+.0f%%), p95 %.1f -> %.1f ms, "
+                            + "%d samples vs %d baseline, p=%.2g",
+                    series, baselineP50Ms, p50Ms, (p50Ms - baselineP50Ms) * 100 / baselineP50Ms,
+                    baselineP95Ms, p95Ms, samples, baselineSamples, pValue);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.indodax.performance;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wall-clock duration of every scenario, keyed by feature file name and
+ * scenario line (the example row line for outlines), e.g.
+ * "02_ticker.feature:22". Each run writes its durations to
+ * scenario-durations.json in the metrics directory and folds them into a
+ * smoothed history that ShardPlanner balances shards with.
+ */
+public final class ScenarioDurations {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioDurations.class);
+    public static final String FILE_NAME = "scenario-durations.json";
+    /**
+     * Weight of the latest run when folding it into the history
+     */
+    private static final double SMOOTHING = 0.5;
+    private static final Map<String, Long> DURATIONS = new ConcurrentHashMap<>();
+
+    private ScenarioDurations() {
+    }
+
+    /**
+     * Id of the scenario at a line of a feature file
+     */
+    public static String idOf(URI feature, int line) {
+        String path = feature.getSchemeSpecificPart();
+        return path.substring(path.lastIndexOf('/') + 1) + ":" + line;
+    }
+
+    public static void record(String id, long elapsedNanos) {
+        DURATIONS.put(id, elapsedNanos);
+    }
+
+    /**
+     * Durations recorded in this run, in milliseconds
+     */
+    public static Map<String, Double> snapshotMillis() {
+        Map<String, Double> millis = new TreeMap<>();
+        DURATIONS.forEach((id, nanos) -> millis.put(id, nanos / 1_000_000.0));
+        return millis;
+    }
+
+    public static void reset() {
+        DURATIONS.clear();
+    }
+
+    /**
+     * Durations stored in a file; empty if it does not exist or cannot be read
+     */
+    public static Map<String, Double> read(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try {
+            Map<String, Double> durations = new GsonBuilder().create().fromJson(
+                    Files.readString(file, StandardCharsets.UTF_8), new TypeToken<TreeMap<String, Double>>() {
+                    }.getType());
+            return durations != null ? durations : new TreeMap<>();
+        } catch (IOException | JsonParseException e) {
+            logger.warn("Ignoring unreadable scenario durations {}: {}", file, e.toString());
+            return new TreeMap<>();
+        }
+    }
+
+    public static void write(Path file, Map<String, Double> durations) {
+        Map<String, Double> rounded = new TreeMap<>();
+        durations.forEach((id, millis) -> rounded.put(id, Math.round(millis * 10) / 10.0));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(rounded), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to write scenario durations to {}", file, e);
+        }
+    }
+
+    /**
+     * Fold the durations of one run into the history file (exponentially
+     * smoothed, so one slow run does not reshuffle every shard)
+     */
+    public static void fold(Path history, Map<String, Double> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+        Map<String, Double> durations = read(history);
+        run.forEach((id, millis) -> durations.merge(id, millis,
+                (previous, latest) -> previous * (1 - SMOOTHING) + latest * SMOOTHING));
+        write(history, durations);
+        logger.info("Scenario durations of {} scenarios folded into {}", run.size(), history);
+    }
+}
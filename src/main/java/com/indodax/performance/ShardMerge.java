@@ -0,0 +1,85 @@
+package com.indodax.performance;
+
+import com.indodax.config.ApiConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the results of a sharded run (-Dshard=i/N) once every shard is done.
+ * Each shard exports into its own target/metrics/shard-i-of-N directory; this
+ * merges their metrics.json into target/metrics/metrics.{prom,json}, their
+ * scenario durations into target/metrics/scenario-durations.json (and the
+ * duration history the next plan is built from), and their latency
+ * regression reports into one perf-regressions.txt.
+ * Allure results need no merging: every shard writes uniquely named files
+ * into the same allure-results directory.
+ * Run with: mvn -Pmerge-shards verify
+ */
+public final class ShardMerge {
+    private static final Logger logger = LoggerFactory.getLogger(ShardMerge.class);
+
+    private ShardMerge() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path metricsRoot = Paths.get(args.length > 0 ? args[0] : "target/metrics");
+        List<Path> shards;
+        try (Stream<Path> children = Files.list(metricsRoot)) {
+            shards = children.filter(Files::isDirectory)
+                    .filter(dir -> dir.getFileName().toString().startsWith("shard-"))
+                    .sorted()
+                    .toList();
+        }
+        if (shards.isEmpty()) {
+            logger.warn("No shard results found in {}", metricsRoot);
+            return;
+        }
+        merge(shards, metricsRoot, Paths.get(ApiConfig.SCENARIO_DURATIONS_FILE));
+    }
+
+    /**
+     * Merge the result directories of several shards into the target directory
+     */
+    public static void merge(List<Path> shards, Path target, Path durationsHistory) throws IOException {
+        ApiMetrics.reset();
+        Map<String, Double> durations = new TreeMap<>();
+        StringBuilder regressions = new StringBuilder();
+        for (Path shard : shards) {
+            Path metrics = shard.resolve("metrics.json");
+            if (Files.exists(metrics)) {
+                ApiMetrics.importJson(metrics);
+            } else {
+                logger.warn("Shard {} exported no metrics", shard.getFileName());
+            }
+            Map<String, Double> shardDurations = ScenarioDurations.read(shard.resolve(ScenarioDurations.FILE_NAME));
+            durations.putAll(shardDurations);
+            logger.info("Shard {}: {} scenarios, {} s of scenario time", shard.getFileName(), shardDurations.size(),
+                    String.format("%.1f", shardDurations.values().stream().mapToDouble(Double::doubleValue).sum() / 1000));
+            Path report = shard.resolve(PerfHistory.REPORT_FILE);
+            if (Files.exists(report)) {
+                regressions.append(Files.readString(report, StandardCharsets.UTF_8));
+            }
+        }
+
+        ApiMetrics.export(target);
+        ScenarioDurations.write(target.resolve(ScenarioDurations.FILE_NAME), durations);
+        ScenarioDurations.fold(durationsHistory, durations);
+        Path report = target.resolve(PerfHistory.REPORT_FILE);
+        if (regressions.length() > 0) {
+            Files.writeString(report, regressions, StandardCharsets.UTF_8);
+        } else {
+            Files.deleteIfExists(report);
+        }
+        logger.info("Merged {} shards into {}", shards.size(), target);
+    }
+}
@@ -0,0 +1,197 @@
+package com.indodax.performance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the scenarios of the feature files into N shards of roughly equal
+ * duration, so N JVMs (surefire runs or CI stages started with -Dshard=i/N)
+ * finish at about the same time.
+ * Durations come from ScenarioDurations; scenarios without one are assumed
+ * to take the median known duration. Shards are filled with the
+ * longest-processing-time rule: longest scenario first, each to the shard
+ * with the least work so far. The plan only depends on the feature files and
+ * the durations file, so every shard computes the same plan on its own.
+ */
+public final class ShardPlanner {
+    private static final double DEFAULT_DURATION_MS = 1000;
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * One schedulable scenario: a scenario, or one example row of an outline
+     */
+    public record Unit(Path feature, int line, String id) {
+    }
+
+    /**
+     * The i-th (1-based) of count shards
+     */
+    public record Shard(int index, int count) {
+
+        /**
+         * Parse "i/N"
+         */
+        public static Shard parse(String spec) {
+            String[] parts = spec.trim().split("/");
+            try {
+                if (parts.length == 2) {
+                    Shard shard = new Shard(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                    if (shard.count() >= 1 && shard.index() >= 1 && shard.index() <= shard.count()) {
+                        return shard;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            throw new IllegalArgumentException("Shard must be i/N with 1 <= i <= N, got: " + spec);
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+
+    /**
+     * Scenarios of every .feature file under the directory, in file and line order
+     */
+    public static List<Unit> discover(Path featuresDirectory) {
+        try (Stream<Path> files = Files.walk(featuresDirectory)) {
+            List<Unit> units = new ArrayList<>();
+            for (Path feature : files.filter(f -> f.toString().endsWith(".feature")).sorted().toList()) {
+                String name = feature.getFileName().toString();
+                for (int line : scenarioLines(Files.readAllLines(feature, StandardCharsets.UTF_8))) {
+                    units.add(new Unit(feature, line, name + ":" + line));
+                }
+            }
+            return units;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read feature files in " + featuresDirectory, e);
+        }
+    }
+
+    /**
+     * 1-based lines Cucumber can select a single scenario by: Scenario/Example
+     * lines, and the example rows (not the header) of Scenario Outlines
+     */
+    static List<Integer> scenarioLines(List<String> lines) {
+        List<Integer> scenarioLines = new ArrayList<>();
+        boolean inDocString = false;
+        boolean inExamples = false;
+        boolean headerSeen = false;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.startsWith("\"\"\"") || line.startsWith("```")) {
+                inDocString = !inDocString;
+                continue;
+            }
+            if (inDocString || line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (inExamples && line.startsWith("|")) {
+                if (headerSeen) {
+                    scenarioLines.add(i + 1);
+                }
+                headerSeen = true;
+                continue;
+            }
+            inExamples = false;
+            if (line.startsWith("Examples:") || line.startsWith("Scenarios:")) {
+                inExamples = true;
+                headerSeen = false;
+            } else if (line.startsWith("Scenario:") || line.startsWith("Example:")) {
+                scenarioLines.add(i + 1);
+            }
+        }
+        return scenarioLines;
+    }
+
+    /**
+     * Assign units to shards, longest first, each to the least loaded shard
+     * (ties go to the lowest shard number)
+     */
+    public static List<List<Unit>> plan(List<Unit> units, Map<String, Double> durations, int shards) {
+        double fallback = fallbackMillis(units, durations);
+        List<List<Unit>> plan = new ArrayList<>();
+        double[] load = new double[shards];
+        for (int i = 0; i < shards; i++) {
+            plan.add(new ArrayList<>());
+        }
+        for (Unit unit : longestFirst(units, durations)) {
+            int lightest = 0;
+            for (int i = 1; i < shards; i++) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            plan.get(lightest).add(unit);
+            load[lightest] += durations.getOrDefault(unit.id(), fallback);
+        }
+        plan.forEach(shard -> shard.sort(Comparator.comparing(Unit::feature).thenComparingInt(Unit::line)));
+        return plan;
+    }
+
+    /**
+     * Units ordered by expected duration, longest first (ties by id)
+     */
+    public static List<Unit> longestFirst(List<Unit> units, Map<String, Double> durations) {
+        double fallback = fallbackMillis(units, durations);
+        List<Unit> ordered = new ArrayList<>(units);
+        ordered.sort(Comparator.comparingDouble((Unit unit) -> -durations.getOrDefault(unit.id(), fallback))
+                .thenComparing(Unit::id));
+        return ordered;
+    }
+
+    /**
+     * Expected duration of each shard of a plan, in milliseconds
+     */
+    public static double[] expectedMillis(List<List<Unit>> plan, Map<String, Double> durations) {
+        double fallback = fallbackMillis(plan.stream().flatMap(List::stream).toList(), durations);
+        return plan.stream()
+                .mapToDouble(shard -> shard.stream().mapToDouble(unit -> durations.getOrDefault(unit.id(), fallback)).sum())
+                .toArray();
+    }
+
+    /**
+     * Value of the cucumber.features property that runs exactly these units,
+     * e.g. "features/01.feature:11:22,features/02.feature:22"
+     */
+    public static String cucumberFeatures(List<Unit> units) {
+        Map<Path, List<Integer>> byFeature = new LinkedHashMap<>();
+        units.forEach(unit -> byFeature.computeIfAbsent(unit.feature(), f -> new ArrayList<>()).add(unit.line()));
+        return byFeature.entrySet().stream()
+                .map(entry -> entry.getKey().toString().replace('\\', '/') + entry.getValue().stream()
+                        .map(line -> ":" + line)
+                        .collect(Collectors.joining()))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Median known duration of the units, for units that have none yet
+     */
+    private static double fallbackMillis(List<Unit> units, Map<String, Double> durations) {
+        double[] values = units.stream()
+                .map(unit -> durations.get(unit.id()))
+                .filter(duration -> duration != null)
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        if (values.length == 0) {
+            return DEFAULT_DURATION_MS;
+        }
+        Arrays.sort(values);
+        return values[(values.length - 1) / 2];
+    }
+}
@@ -0,0 +1,53 @@
+package com.indodax.performance;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Pairs checked, failures by pair and wall time of one per-pair sweep
+ * ({@link PairTickerSweep}, {@link OrderBookSweep})
+ */
+public final class SweepResult {
+    private final int pairs;
+    private final Map<String, String> failures;
+    private final long durationNanos;
+
+    SweepResult(int pairs, Map<String, String> failures, long durationNanos) {
+        this.pairs = pairs;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.durationNanos = durationNanos;
+    }
+
+    public int getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Failure reason by pair id, sorted by pair
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+
+    public double getDurationSeconds() {
+        return durationNanos / 1_000_000_000.0;
+    }
+
+    public String summary() {
+        return String.format("%d pairs, %d failed, %.2f s", pairs, failures.size(), getDurationSeconds());
+    }
+
+    /**
+     * Summary followed by one line per failed pair
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder(summary());
+        failures.forEach((pair, reason) -> report.append('\n').append(pair).append(": ").append(reason));
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+}
@@ -0,0 +1,432 @@
+package com.indodax.performance;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.indodax.api.client.Decimals;
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.api.client.JsonDocument;
+import io.restassured.response.Response;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls /trades for a set of pairs and ingests only trades not seen before.
+ * Each pair keeps a cursor (newest trade id and time) and a bounded
+ * {@link LongHashSet} of recent ids, so memory stays flat over hours of
+ * polling. Every poll checks that ids descend and timestamps are ordered in
+ * the response, that no trade shows up behind a newer one already seen, and
+ * that new trade prices lie within the ticker's low/high. Ingestion rate and
+ * poll-to-visibility latency (trade time to the poll that first saw it) are
+ * reported. Trades returned by the first poll of a pair are history: they
+ * set the cursor but are left out of the rate, latency and price checks,
+ * since they can be older than the ticker's 24h range.
+ */
+public class TradeHistoryPoller {
+    private static final Logger logger = LoggerFactory.getLogger(TradeHistoryPoller.class);
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final int MAX_VIOLATIONS_PER_PAIR = 10;
+    public static final int DEFAULT_IDS_PER_PAIR = 4096;
+
+    private final IndodaxApiClient client;
+    private final int idsPerPair;
+
+    public TradeHistoryPoller(IndodaxApiClient client) {
+        this(client, DEFAULT_IDS_PER_PAIR);
+    }
+
+    public TradeHistoryPoller(IndodaxApiClient client, int idsPerPair) {
+        this.client = client;
+        this.idsPerPair = idsPerPair;
+    }
+
+    /**
+     * Poll every pair once per interval until duration has passed, at most concurrency polls in flight
+     */
+    public Result run(List<String> pairs, long durationMillis, long intervalMillis, int concurrency) {
+        return run(pairs, Integer.MAX_VALUE, durationMillis, intervalMillis, concurrency);
+    }
+
+    /**
+     * Poll every pair a fixed number of times, once per interval
+     */
+    public Result runRounds(List<String> pairs, int rounds, long intervalMillis, int concurrency) {
+        return run(pairs, rounds, TimeUnit.DAYS.toMillis(365), intervalMillis, concurrency);
+    }
+
+    private Result run(List<String> pairs, int rounds, long durationMillis, long intervalMillis, int concurrency) {
+        if (pairs.isEmpty() || rounds < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Need at least one pair, one round and a concurrency of at least 1");
+        }
+        Map<String, Cursor> cursors = new LinkedHashMap<>();
+        for (String pair : pairs) {
+            cursors.put(pair, new Cursor(pair, idsPerPair));
+        }
+        Stats stats = new Stats();
+        // one buffer per permit, reused across polls whatever threads the executor uses
+        BlockingQueue<TradeBuffer> buffers = new ArrayBlockingQueue<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            buffers.add(new TradeBuffer());
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        int round = 0;
+
+        Semaphore permits = new Semaphore(concurrency);
+        ExecutorService executor = WorkerExecutors.newWorkerExecutor("trade-poller", concurrency);
+        try {
+            do {
+                long roundStart = System.nanoTime();
+                for (Cursor cursor : cursors.values()) {
+                    permits.acquire();
+                    executor.execute(() -> {
+                        // the buffer is back before the permit is, so there is always one to take
+                        TradeBuffer buffer = buffers.poll();
+                        try {
+                            poll(cursor, stats, buffer);
+                        } catch (Exception e) {
+                            stats.failedPolls.increment();
+                            cursor.violation("poll failed: " + e.getMessage());
+                        } finally {
+                            buffers.add(buffer);
+                            permits.release();
+                        }
+                    });
+                }
+                // a pair is never polled twice at once: wait for the round before starting the next
+                permits.acquire(concurrency);
+                permits.release(concurrency);
+                long pause = TimeUnit.MILLISECONDS.toNanos(intervalMillis) - (System.nanoTime() - roundStart);
+                if (pause > 0 && round + 1 < rounds && System.nanoTime() + pause < deadline) {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
+            } while (++round < rounds && System.nanoTime() < deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Trade history polling interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(cursors, stats, System.nanoTime() - start);
+        logger.info("Trade history polling finished - {}", result.summary());
+        return result;
+    }
+
+    private void poll(Cursor cursor, Stats stats, TradeBuffer buffer) {
+        Response response = client.getTradeHistoryQuietly(cursor.pair);
+        long receivedMillis = System.currentTimeMillis();
+        stats.polls.increment();
+        if (response.getStatusCode() != 200) {
+            stats.failedPolls.increment();
+            cursor.violation("status " + response.getStatusCode());
+            return;
+        }
+        TradeBuffer trades = buffer.read(response.asByteArray());
+
+        // the response lists the newest trade first
+        for (int i = 1; i < trades.count; i++) {
+            if (trades.ids[i] >= trades.ids[i - 1]) {
+                cursor.violation("ids not descending in response: " + trades.ids[i - 1] + " then " + trades.ids[i]);
+            }
+            if (trades.dates[i] > trades.dates[i - 1]) {
+                cursor.violation("timestamps not ordered in response: trade " + trades.ids[i] + " at "
+                        + trades.dates[i] + " after trade " + trades.ids[i - 1] + " at " + trades.dates[i - 1]);
+            }
+        }
+
+        boolean history = cursor.polls++ == 0;
+        int fresh = 0;
+        int lowest = -1;
+        int highest = -1;
+        for (int i = trades.count - 1; i >= 0; i--) {
+            long id = trades.ids[i];
+            if (cursor.seen.contains(id)) {
+                stats.duplicates.increment();
+                continue;
+            }
+            if (id < cursor.lastId) {
+                if (id > cursor.seen.oldest()) {
+                    cursor.violation("trade " + id + " appeared after newer trade " + cursor.lastId);
+                }
+                // older than the ids still remembered: history that dropped out of the window
+                continue;
+            }
+            cursor.seen.add(id);
+            cursor.lastId = id;
+            if (trades.dates[i] < cursor.lastDate) {
+                cursor.violation("trade " + id + " at " + trades.dates[i] + " is older than a previous trade at "
+                        + cursor.lastDate);
+            }
+            cursor.lastDate = Math.max(cursor.lastDate, trades.dates[i]);
+            if (lowest < 0 || trades.prices[i] < trades.prices[lowest]) {
+                lowest = i;
+            }
+            if (highest < 0 || trades.prices[i] > trades.prices[highest]) {
+                highest = i;
+            }
+            if (!history) {
+                stats.visibilityMillis.recordValue(Math.max(0, receivedMillis - trades.dates[i] * 1000));
+            }
+            fresh++;
+        }
+        if (history) {
+            stats.historyTrades.add(fresh);
+        } else if (fresh > 0) {
+            stats.trades.add(fresh);
+            checkPrices(cursor, trades, lowest, highest);
+        }
+    }
+
+    /**
+     * Ticker is fetched after the trades, so its high/low already include them
+     */
+    private void checkPrices(Cursor cursor, TradeBuffer trades, int lowest, int highest) {
+        Response ticker = client.getTickerQuietly(cursor.pair);
+        if (ticker.getStatusCode() != 200) {
+            cursor.violation("ticker status " + ticker.getStatusCode());
+            return;
+        }
+        JsonDocument json = JsonDocument.parse(ticker.asByteArray());
+        double high = json.getDouble("ticker.high");
+        double low = json.getDouble("ticker.low");
+        if (trades.prices[lowest] < low) {
+            cursor.violation("trade " + trades.ids[lowest] + " price " + trades.prices[lowest] + " below ticker low " + low);
+        }
+        if (trades.prices[highest] > high) {
+            cursor.violation("trade " + trades.ids[highest] + " price " + trades.prices[highest] + " above ticker high " + high);
+        }
+    }
+
+    /**
+     * Trades of one response as parallel primitive arrays, reused across polls
+     */
+    private static final class TradeBuffer {
+        private long[] ids = new long[1024];
+        private long[] dates = new long[1024];
+        private double[] prices = new double[1024];
+        private int count;
+
+        TradeBuffer read(byte[] body) {
+            count = 0;
+            try (JsonParser parser = FACTORY.createParser(body)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Trades response is not a JSON array");
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                        dates = Arrays.copyOf(dates, count * 2);
+                        prices = Arrays.copyOf(prices, count * 2);
+                    }
+                    readTrade(parser);
+                    count++;
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Trades response is not valid JSON: " + e.getMessage(), e);
+            }
+            return this;
+        }
+
+        private void readTrade(JsonParser parser) throws IOException {
+            ids[count] = -1;
+            dates[count] = -1;
+            prices[count] = Double.NaN;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "tid" -> ids[count] = (long) number(parser);
+                    case "date" -> dates[count] = (long) number(parser);
+                    case "price" -> prices[count] = number(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (ids[count] < 0 || dates[count] < 0 || Double.isNaN(prices[count])) {
+                throw new IllegalArgumentException("Trade without tid, date or price at " + parser.getCurrentLocation());
+            }
+        }
+
+        /**
+         * Indodax sends tid, date and price as strings; tids fit a double's 53-bit mantissa exactly
+         */
+        private static double number(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return Decimals.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            return parser.getDoubleValue();
+        }
+    }
+
+    /**
+     * Per-pair polling state; only touched by one worker at a time
+     */
+    private static final class Cursor {
+        private final String pair;
+        private final LongHashSet seen;
+        private final List<String> violations = new ArrayList<>();
+        private long lastId = -1;
+        private long lastDate;
+        private long violationCount;
+        private int polls;
+
+        Cursor(String pair, int idsPerPair) {
+            this.pair = pair;
+            this.seen = new LongHashSet(idsPerPair);
+        }
+
+        synchronized void violation(String violation) {
+            violationCount++;
+            if (violations.size() < MAX_VIOLATIONS_PER_PAIR) {
+                violations.add(violation);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder failedPolls = new LongAdder();
+        private final LongAdder historyTrades = new LongAdder();
+        private final LongAdder trades = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        // 1 ms to 1 day, 3 significant digits
+        private final Histogram visibilityMillis = new ConcurrentHistogram(TimeUnit.DAYS.toMillis(1), 3);
+    }
+
+    /**
+     * Totals of one polling run, with violations kept per pair (first few each)
+     */
+    public static final class Result {
+        private final int pairs;
+        private final long polls;
+        private final long failedPolls;
+        private final long historyTrades;
+        private final long trades;
+        private final long duplicates;
+        private final long violationCount;
+        private final Map<String, List<String>> violations = new LinkedHashMap<>();
+        private final Histogram visibilityMillis;
+        private final long durationNanos;
+
+        Result(Map<String, Cursor> cursors, Stats stats, long durationNanos) {
+            this.pairs = cursors.size();
+            this.polls = stats.polls.sum();
+            this.failedPolls = stats.failedPolls.sum();
+            this.historyTrades = stats.historyTrades.sum();
+            this.trades = stats.trades.sum();
+            this.duplicates = stats.duplicates.sum();
+            long count = 0;
+            for (Cursor cursor : cursors.values()) {
+                count += cursor.violationCount;
+                if (!cursor.violations.isEmpty()) {
+                    violations.put(cursor.pair, List.copyOf(cursor.violations));
+                }
+            }
+            this.violationCount = count;
+            this.visibilityMillis = stats.visibilityMillis.copy();
+            this.durationNanos = durationNanos;
+        }
+
+        public int getPairs() {
+            return pairs;
+        }
+
+        public long getPolls() {
+            return polls;
+        }
+
+        public long getFailedPolls() {
+            return failedPolls;
+        }
+
+        /**
+         * Trades returned by the first poll of each pair
+         */
+        public long getHistoryTrades() {
+            return historyTrades;
+        }
+
+        /**
+         * New trades ingested after the first poll of their pair
+         */
+        public long getTrades() {
+            return trades;
+        }
+
+        /**
+         * Trades skipped because an earlier poll already ingested them
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getViolationCount() {
+            return violationCount;
+        }
+
+        /**
+         * First violations by pair, in pair order
+         */
+        public Map<String, List<String>> getViolations() {
+            return Collections.unmodifiableMap(violations);
+        }
+
+        public double getDurationSeconds() {
+            return durationNanos / 1_000_000_000.0;
+        }
+
+        public double getTradesPerSecond() {
+            return trades / getDurationSeconds();
+        }
+
+        /**
+         * Trade time to first visible poll, at the given percentile; 0 when no trade arrived after the first poll
+         */
+        public long getVisibilityMillis(double percentile) {
+            return visibilityMillis.getTotalCount() == 0 ? 0 : visibilityMillis.getValueAtPercentile(percentile);
+        }
+
+        public long getVisibilitySamples() {
+            return visibilityMillis.getTotalCount();
+        }
+
+        public String summary() {
+            return String.format("%d pairs, %d polls (%d failed), %d history trades, %d new trades (%.2f/s), "
+                            + "%d duplicates skipped, %d violations, visibility p50 %d ms / p95 %d ms / max %d ms "
+                            + "over %d trades, %.2f s",
+                    pairs, polls, failedPolls, historyTrades, trades, getTradesPerSecond(), duplicates, violationCount,
+                    getVisibilityMillis(50), getVisibilityMillis(95), getVisibilityMillis(100),
+                    getVisibilitySamples(), getDurationSeconds());
+        }
+
+        /**
+         * Summary followed by the violations of each pair
+         */
+        public String report() {
+            StringBuilder report = new StringBuilder(summary());
+            violations.forEach((pair, list) -> list.forEach(v -> report.append('\n').append(pair).append(": ").append(v)));
+            return report.toString();
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
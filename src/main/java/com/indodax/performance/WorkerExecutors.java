@@ -0,0 +1,45 @@
+package com.indodax.performance;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for I/O-bound worker tasks.
+ * Uses virtual threads when the runtime has them (Java 21+); the build
+ * targets Java 17, so they are looked up reflectively and we fall back to a
+ * fixed pool of daemon platform threads.
+ */
+public final class WorkerExecutors {
+
+    private WorkerExecutors() {
+    }
+
+    /**
+     * Executor able to run at least {@code parallelism} tasks concurrently
+     */
+    public static ExecutorService newWorkerExecutor(String name, int parallelism) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Whether newWorkerExecutor hands out virtual threads on this JVM
+     */
+    public static boolean usesVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
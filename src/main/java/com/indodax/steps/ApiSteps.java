@@ -1,17 +1,37 @@
 package com.indodax.steps;
 
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.indodax.api.client.BulkTickerValidator;
+import com.indodax.api.client.CircuitBreaker;
+import com.indodax.api.client.Deadline;
 import com.indodax.api.client.IndodaxApiClient;
-import com.indodax.helper.ExcelReader;
+import com.indodax.api.client.JsonRequestBody;
+import com.indodax.api.client.JsonDocument;
+import com.indodax.api.client.OrderBook;
+import com.indodax.config.ApiConfig;
+import com.indodax.config.LoggingLevel;
+import com.indodax.helper.AllureAttachments;
+import com.indodax.helper.JsonSchemaRegistry;
+import com.indodax.helper.TestDataCache;
+import com.indodax.performance.OrderBookSweep;
+import com.indodax.performance.PairTickerSweep;
+import com.indodax.performance.PerfHistory;
+import com.indodax.performance.ScenarioDurations;
+import com.indodax.performance.SweepResult;
+import com.indodax.performance.TradeHistoryPoller;
 import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.*;
 import io.qameta.allure.*;
-import io.restassured.module.jsv.JsonSchemaValidator;
 import io.restassured.response.Response;
+import org.opentest4j.TestAbortedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.util.HashMap;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -23,8 +43,15 @@ public class ApiSteps {
 
     private IndodaxApiClient apiClient;
     private Response response;
-    private ExcelReader excelReader;
+    private String testDataFile;
+    private String testDataSheet;
     private Map<String, String> testData;
+    private SweepResult pairSweep;
+    private SweepResult orderBookSweep;
+    private String depthPair;
+    private OrderBook orderBook;
+    private TradeHistoryPoller.Result tradePolling;
+    private long scenarioStartNanos;
 
     public ApiSteps() {
         this.apiClient = new IndodaxApiClient();
@@ -34,19 +61,21 @@ public class ApiSteps {
     @Given("I load test data from excel file {string} sheet {string}")
     public void loadTestDataFromExcel(String fileName, String sheetName) {
         String filePath = "src/test/resources/testdata/" + fileName;
-        excelReader = new ExcelReader(filePath);
-        excelReader.selectSheet(sheetName);
-        Allure.addAttachment("Excel File", fileName);
-        Allure.addAttachment("Sheet Name", sheetName);
+        // Parsed once per run and shared between scenarios
+        TestDataCache.getSheet(filePath, sheetName);
+        testDataFile = filePath;
+        testDataSheet = sheetName;
+        AllureAttachments.attach("Excel File", fileName);
+        AllureAttachments.attach("Sheet Name", sheetName);
         logger.info("Loaded test data from: {} - Sheet: {}", fileName, sheetName);
     }
 
     @Step("Get test data for test case: {testCaseName}")
     @Given("I get test data for test case {string}")
     public void getTestDataForTestCase(String testCaseName) {
-        testData = excelReader.getTestDataByName(testCaseName);
-        Allure.addAttachment("Test Case ID", testCaseName);
-        Allure.addAttachment("Test Data", testData.toString());
+        testData = TestDataCache.getTestDataByName(testDataFile, testDataSheet, testCaseName);
+        AllureAttachments.attach("Test Case ID", testCaseName);
+        AllureAttachments.attach("Test Data", testData.toString());
         logger.info("Test data loaded for: {}", testCaseName);
         logger.info("Test data: {}", testData);
     }
@@ -58,6 +87,13 @@ public class ApiSteps {
         attachResponseToAllure();
     }
 
+    @Step("Limit the requests of this scenario to {millis} ms")
+    @Given("the requests of this scenario must finish within {int} ms")
+    public void setScenarioDeadline(int millis) {
+        apiClient.setDeadline(Deadline.after(millis));
+        logger.info("Scenario deadline: {}", apiClient.getDeadline());
+    }
+
     @Step("Send GET request to /api/ticker/{pair}")
     @When("I send GET request to ticker endpoint with pair {string}")
     public void sendGetTicker(String pair) {
@@ -74,6 +110,15 @@ public class ApiSteps {
         attachResponseToAllure();
     }
 
+    @Step("Send GET request to /api/depth/{pair}")
+    @When("I send GET request to depth endpoint with pair {string}")
+    public void sendGetDepth(String pair) {
+        response = apiClient.getDepth(pair);
+        depthPair = pair;
+        orderBook = response.getStatusCode() == 200 ? OrderBook.parse(response.asByteArray()) : null;
+        attachResponseToAllure();
+    }
+
     @Step("Send GET request to /api/tickers")
     @When("I send GET request to all tickers endpoint")
     public void sendGetAllTickers() {
@@ -88,6 +133,13 @@ public class ApiSteps {
         attachResponseToAllure();
     }
 
+    @Step("Send GET request to /api/pairs bypassing the response cache")
+    @When("I send GET request to pairs endpoint bypassing the cache")
+    public void sendGetPairsUncached() {
+        response = apiClient.getPairsUncached();
+        attachResponseToAllure();
+    }
+
     @Step("Send GET request to /api/price_increments")
     @When("I send GET request to price increments endpoint")
     public void sendGetPriceIncrements() {
@@ -95,6 +147,13 @@ public class ApiSteps {
         attachResponseToAllure();
     }
 
+    @Step("Send GET request to /api/price_increments bypassing the response cache")
+    @When("I send GET request to price increments endpoint bypassing the cache")
+    public void sendGetPriceIncrementsUncached() {
+        response = apiClient.getPriceIncrementsUncached();
+        attachResponseToAllure();
+    }
+
     @Step("Send GET request to /api/summaries")
     @When("I send GET request to summaries endpoint")
     public void sendGetSummaries() {
@@ -119,13 +178,13 @@ public class ApiSteps {
     @Then("the response body should contain field {string}")
     public void verifyResponseContainsField(String fieldName) {
         assertNotNull("Response should contain field: " + fieldName,
-                response.jsonPath().get(fieldName));
+                json().get(fieldName));
         logger.info("Response contains field: {}", fieldName);
     }
 
     @Then("the response body field {string} should not be empty")
     public void verifyFieldNotEmpty(String fieldName) {
-        Object fieldValue = response.jsonPath().get(fieldName);
+        Object fieldValue = json().get(fieldName);
         assertNotNull("Field " + fieldName + " should not be null", fieldValue);
         assertThat(fieldValue.toString(), not(emptyString()));
         logger.info("Field {} is not empty: {}", fieldName, fieldValue);
@@ -133,26 +192,26 @@ public class ApiSteps {
 
     @Then("the response should match json schema {string}")
     public void verifyJsonSchema(String schemaFileName) {
-        File schemaFile = new File("src/test/resources/schemas/" + schemaFileName);
-        response.then().assertThat().body(JsonSchemaValidator.matchesJsonSchema(schemaFile));
+        ProcessingReport report = JsonSchemaRegistry.validate(schemaFileName, json().getRoot());
+        assertTrue("Response does not match JSON schema " + schemaFileName + ":\n" + report, report.isSuccess());
         logger.info("Response matches JSON schema: {}", schemaFileName);
     }
 
     @Then("the ticker data should have valid structure")
     public void verifyTickerStructure() {
-        assertNotNull("Response should contain ticker", response.jsonPath().get("ticker"));
-        assertNotNull("Ticker should have high price", response.jsonPath().get("ticker.high"));
-        assertNotNull("Ticker should have low price", response.jsonPath().get("ticker.low"));
-        assertNotNull("Ticker should have last price", response.jsonPath().get("ticker.last"));
-        assertNotNull("Ticker should have buy price", response.jsonPath().get("ticker.buy"));
-        assertNotNull("Ticker should have sell price", response.jsonPath().get("ticker.sell"));
+        assertNotNull("Response should contain ticker", json().get("ticker"));
+        assertNotNull("Ticker should have high price", json().get("ticker.high"));
+        assertNotNull("Ticker should have low price", json().get("ticker.low"));
+        assertNotNull("Ticker should have last price", json().get("ticker.last"));
+        assertNotNull("Ticker should have buy price", json().get("ticker.buy"));
+        assertNotNull("Ticker should have sell price", json().get("ticker.sell"));
         logger.info("Ticker structure validated successfully");
     }
 
     @Then("the high price should be greater than or equal to low price")
     public void verifyHighLowPrice() {
-        String highStr = response.jsonPath().getString("ticker.high");
-        String lowStr = response.jsonPath().getString("ticker.low");
+        String highStr = json().getString("ticker.high");
+        String lowStr = json().getString("ticker.low");
 
         double high = Double.parseDouble(highStr);
         double low = Double.parseDouble(lowStr);
@@ -161,29 +220,129 @@ public class ApiSteps {
         logger.info("Price validation passed - High: {}, Low: {}", high, low);
     }
 
+    @Step("Validate the ticker of every trading pair with concurrency {concurrency}")
+    @When("I validate the ticker of every trading pair with concurrency {int}")
+    public void sweepAllPairTickers(int concurrency) {
+        pairSweep = new PairTickerSweep(apiClient).run(concurrency);
+        AllureAttachments.attach("Pair Ticker Sweep", pairSweep.report());
+    }
+
+    @Then("every trading pair ticker should be valid")
+    public void verifyPairSweep() {
+        assertThat("Pairs checked", pairSweep.getPairs(), greaterThan(0));
+        assertTrue("Invalid tickers - " + pairSweep.report(), pairSweep.getFailures().isEmpty());
+        logger.info("All {} pair tickers valid", pairSweep.getPairs());
+    }
+
+    @Then("the order book should be valid")
+    public void verifyOrderBook() {
+        OrderBook.Analysis analysis = orderBook().analyze(1);
+        AllureAttachments.attach("Order Book", analysis.summary());
+        assertTrue("Invalid order book for " + depthPair + " - " + analysis.getViolations(), analysis.isValid());
+        logger.info("Order book for {} valid - {}", depthPair, analysis.summary());
+    }
+
+    @Then("the order book spread should be at most {double} percent")
+    public void verifyOrderBookSpread(double maxPercent) {
+        double spreadPercent = orderBook().getSpreadPercent();
+        assertThat("Spread % of " + depthPair, spreadPercent, lessThanOrEqualTo(maxPercent));
+        logger.info("Order book spread for {}: {}%", depthPair, String.format("%.4f", spreadPercent));
+    }
+
+    @Then("the order book should hold at least {double} on each side within {double} percent of mid")
+    public void verifyOrderBookDepth(double minAmount, double percent) {
+        OrderBook.Analysis analysis = orderBook().analyze(percent);
+        assertThat("Bid depth within " + percent + "% of mid for " + depthPair,
+                analysis.getBidDepth(), greaterThanOrEqualTo(minAmount));
+        assertThat("Ask depth within " + percent + "% of mid for " + depthPair,
+                analysis.getAskDepth(), greaterThanOrEqualTo(minAmount));
+        logger.info("Order book depth for {} - {}", depthPair, analysis.summary());
+    }
+
+    @Then("the best order book levels should match the ticker within {double} percent")
+    public void verifyOrderBookMatchesTicker(double maxPercent) {
+        OrderBook book = orderBook();
+        // quietly, so later steps still assert on the depth response
+        Response ticker = apiClient.getTickerQuietly(depthPair);
+        assertEquals("Ticker status for " + depthPair, 200, ticker.getStatusCode());
+        JsonDocument tickerJson = JsonDocument.parse(ticker.asByteArray());
+        double buy = tickerJson.getDouble("ticker.buy");
+        double sell = tickerJson.getDouble("ticker.sell");
+        double deviation = book.getTickerDeviationPercent(buy, sell);
+        assertThat("Best bid/ask " + book.getBestBid() + "/" + book.getBestAsk() + " vs ticker buy/sell "
+                + buy + "/" + sell + " deviation %", deviation, lessThanOrEqualTo(maxPercent));
+        logger.info("Order book for {} within {}% of ticker", depthPair, String.format("%.4f", deviation));
+    }
+
+    @Step("Poll the order book of every trading pair {rounds} times with concurrency {concurrency}")
+    @When("I poll the order book of every trading pair {int} times with concurrency {int}")
+    public void sweepAllPairOrderBooks(int rounds, int concurrency) {
+        orderBookSweep = new OrderBookSweep(apiClient, 1).run(concurrency, rounds);
+        AllureAttachments.attach("Order Book Sweep", orderBookSweep.report());
+    }
+
+    @Then("every trading pair order book should be valid")
+    public void verifyOrderBookSweep() {
+        assertThat("Pairs checked", orderBookSweep.getPairs(), greaterThan(0));
+        assertTrue("Invalid order books - " + orderBookSweep.report(), orderBookSweep.getFailures().isEmpty());
+        logger.info("All {} pair order books valid", orderBookSweep.getPairs());
+    }
+
+    @When("I poll the trade history of {string} every {int} ms for {int} seconds")
+    public void pollTradeHistory(String pairs, int intervalMs, int seconds) {
+        pollTradeHistory(pairs, intervalMs, seconds, ApiConfig.POLLING_CONCURRENCY);
+    }
+
+    @Step("Poll the trade history of {pairs} every {intervalMs} ms for {seconds} seconds with concurrency {concurrency}")
+    @When("I poll the trade history of {string} every {int} ms for {int} seconds with concurrency {int}")
+    public void pollTradeHistory(String pairs, int intervalMs, int seconds, int concurrency) {
+        List<String> pairList = pairs.equalsIgnoreCase("all pairs")
+                ? PairTickerSweep.fetchPairIds(apiClient)
+                : Arrays.asList(pairs.split("\\s*,\\s*"));
+        tradePolling = new TradeHistoryPoller(apiClient).run(pairList, seconds * 1000L, intervalMs, concurrency);
+        AllureAttachments.attach("Trade History Polling", tradePolling.report());
+    }
+
+    @Then("the polled trade history should be consistent")
+    public void verifyTradePolling() {
+        assertThat("Trades seen - " + tradePolling.summary(),
+                tradePolling.getHistoryTrades() + tradePolling.getTrades(), greaterThan(0L));
+        assertEquals("Failed polls - " + tradePolling.report(), 0, tradePolling.getFailedPolls());
+        assertEquals("Trade history violations - " + tradePolling.report(), 0, tradePolling.getViolationCount());
+        logger.info("Trade history consistent - {}", tradePolling.summary());
+    }
+
     @Then("the pairs list should not be empty")
     public void verifyPairsNotEmpty() {
-        assertThat(response.jsonPath().getList("$"), not(empty()));
-        int count = response.jsonPath().getList("$").size();
+        assertThat(json().getList("$"), not(empty()));
+        int count = json().getList("$").size();
         logger.info("Pairs count: {}", count);
     }
 
     @Then("each pair should have required fields")
     public void verifyPairFields() {
-        assertNotNull(response.jsonPath().get("[0].id"));
-        assertNotNull(response.jsonPath().get("[0].symbol"));
-        assertNotNull(response.jsonPath().get("[0].base_currency"));
-        assertNotNull(response.jsonPath().get("[0].traded_currency"));
+        assertNotNull(json().get("[0].id"));
+        assertNotNull(json().get("[0].symbol"));
+        assertNotNull(json().get("[0].base_currency"));
+        assertNotNull(json().get("[0].traded_currency"));
         logger.info("Pair fields validated");
     }
 
     @Then("the increments data should not be empty")
     public void verifyIncrementsNotEmpty() {
-        Map<String, Object> increments = response.jsonPath().getMap("increments");
+        Map<String, Object> increments = json().getMap("increments");
         assertFalse("Increments should not be empty", increments.isEmpty());
         logger.info("Increments count: {}", increments.size());
     }
 
+    @Then("each response body should be parsed at most once")
+    public void verifyResponsesParsedOnce() {
+        int parses = apiClient.getJsonParseCount();
+        int responses = apiClient.getResponseCount();
+        assertTrue("Parsed " + parses + " bodies for " + responses + " responses", parses <= responses);
+        logger.info("JSON parses: {} for {} responses", parses, responses);
+    }
+
     @Then("the response time should be less than {int} ms")
     public void verifyResponseTime(long maxTime) {
         long responseTime = response.getTime();
@@ -192,13 +351,76 @@ public class ApiSteps {
         logger.info("Response time: {}ms", responseTime);
     }
 
+    /**
+     * Scenarios tagged @live check the real host, so the replay server (env=local) skips them.
+     * TestAbortedException makes the JUnit Platform report them as aborted (skipped), not as errors.
+     */
+    @Before("@live")
+    public void skipLiveScenariosOnReplay() {
+        if (ApiConfig.isLocalEnvironment()) {
+            throw new TestAbortedException("Needs the live API, skipped against the replay server");
+        }
+    }
+
+    @Before
+    public void startScenarioClock() {
+        scenarioStartNanos = System.nanoTime();
+    }
+
+    @After
+    public void recordScenarioDuration(Scenario scenario) {
+        ScenarioDurations.record(ScenarioDurations.idOf(scenario.getUri(), scenario.getLine()),
+                System.nanoTime() - scenarioStartNanos);
+    }
+
+    @After
+    public void reportRecentExchanges(Scenario scenario) {
+        if (scenario.isFailed()) {
+            String exchanges = apiClient.getExchangeLog().dump();
+            if (!exchanges.isEmpty()) {
+                AllureAttachments.attach("Recent HTTP Exchanges", exchanges);
+            }
+        }
+    }
+
     @After
-    public void cleanup() {
-        if (excelReader != null) {
-            excelReader.close();
+    public void reportRetries() {
+        if (apiClient.getRetryCount() > 0 || apiClient.getRateLimitWaitMillis() > 0) {
+            StringBuilder report = new StringBuilder("Retries: " + apiClient.getRetryCount()
+                    + "\nRate limiter wait: " + apiClient.getRateLimitWaitMillis() + " ms");
+            CircuitBreaker.getTransitions().forEach(transition -> report.append('\n').append(transition));
+            AllureAttachments.attach("Retries", report.toString());
         }
     }
 
+    @After
+    public void reportHedges() {
+        if (apiClient.getHedgesFired() > 0) {
+            String report = "Hedged: " + apiClient.getHedgesFired() + "\nBackup answered first: " + apiClient.getHedgesWon();
+            AllureAttachments.attach("Hedged Requests", report);
+            logger.info("Hedged requests: {} fired, {} won by the backup", apiClient.getHedgesFired(), apiClient.getHedgesWon());
+        }
+    }
+
+    @After
+    public void recordScenarioLatency(Scenario scenario) {
+        if (!scenario.isFailed() && apiClient.getResponseCount() > 0) {
+            PerfHistory.recordScenario(scenario.getName(), apiClient.getRequestNanos());
+        }
+    }
+
+    /**
+     * Logged for every scenario, attached only at api.logging.level=full to keep attachments per scenario down
+     */
+    @After
+    public void reportJsonParses() {
+        String summary = apiClient.getJsonParseCount() + " JSON parses for " + apiClient.getResponseCount() + " responses";
+        if (ApiConfig.LOGGING_LEVEL == LoggingLevel.FULL) {
+            AllureAttachments.attach("JSON Parses", summary);
+        }
+        logger.info("Scenario {}", summary);
+    }
+
     // ============================================
     // HTTP Methods Support
     // ============================================
@@ -206,16 +428,21 @@ public class ApiSteps {
     @Step("Send POST request to {endpoint} with body")
     @When("I send POST request to {string} with body:")
     public void sendPostRequest(String endpoint, String jsonBody) {
-        Map<String, Object> body = parseJsonToMap(jsonBody);
-        response = apiClient.sendPost(endpoint, body);
+        response = apiClient.sendPost(endpoint, JsonRequestBody.of(jsonBody));
         attachResponseToAllure();
     }
 
     @Step("Send PUT request to {endpoint} with body")
     @When("I send PUT request to {string} with body:")
     public void sendPutRequest(String endpoint, String jsonBody) {
-        Map<String, Object> body = parseJsonToMap(jsonBody);
-        response = apiClient.sendPut(endpoint, body);
+        response = apiClient.sendPut(endpoint, JsonRequestBody.of(jsonBody));
+        attachResponseToAllure();
+    }
+
+    @Step("Send POST request to {endpoint} with body from {filePath}")
+    @When("I send POST request to {string} with body from file {string}")
+    public void sendPostRequestFromFile(String endpoint, String filePath) {
+        response = apiClient.sendPost(endpoint, JsonRequestBody.of(Paths.get(filePath)));
         attachResponseToAllure();
     }
 
@@ -229,8 +456,7 @@ public class ApiSteps {
     @Step("Send PATCH request to {endpoint} with body")
     @When("I send PATCH request to {string} with body:")
     public void sendPatchRequest(String endpoint, String jsonBody) {
-        Map<String, Object> body = parseJsonToMap(jsonBody);
-        response = apiClient.sendPatch(endpoint, body);
+        response = apiClient.sendPatch(endpoint, JsonRequestBody.of(jsonBody));
         attachResponseToAllure();
     }
 
@@ -319,9 +545,9 @@ public class ApiSteps {
     @Step("Verify calculated field {fieldName} equals {jsonPath1} + {jsonPath2}")
     @Then("the response field {string} should equal sum of {string} and {string}")
     public void verifyFieldEqualsSum(String fieldName, String jsonPath1, String jsonPath2) {
-        double field = response.jsonPath().getDouble(fieldName);
-        double value1 = response.jsonPath().getDouble(jsonPath1);
-        double value2 = response.jsonPath().getDouble(jsonPath2);
+        double field = json().getDouble(fieldName);
+        double value1 = json().getDouble(jsonPath1);
+        double value2 = json().getDouble(jsonPath2);
         double expectedSum = value1 + value2;
 
         assertEquals("Field " + fieldName + " should equal sum of " + jsonPath1 + " + " + jsonPath2,
@@ -332,9 +558,9 @@ public class ApiSteps {
     @Step("Verify calculated field {fieldName} equals {jsonPath1} * {jsonPath2}")
     @Then("the response field {string} should equal product of {string} and {string}")
     public void verifyFieldEqualsProduct(String fieldName, String jsonPath1, String jsonPath2) {
-        double field = response.jsonPath().getDouble(fieldName);
-        double value1 = response.jsonPath().getDouble(jsonPath1);
-        double value2 = response.jsonPath().getDouble(jsonPath2);
+        double field = json().getDouble(fieldName);
+        double value1 = json().getDouble(jsonPath1);
+        double value2 = json().getDouble(jsonPath2);
         double expectedProduct = value1 * value2;
 
         assertEquals("Field " + fieldName + " should equal product of " + jsonPath1 + " * " + jsonPath2,
@@ -345,23 +571,19 @@ public class ApiSteps {
     @Step("Verify volume calculation: vol_idr = last * vol_crypto")
     @Then("the volume calculation should be correct")
     public void verifyVolumeCalculation() {
-        String lastPrice = response.jsonPath().getString("ticker.last");
-        String volIdr = response.jsonPath().getString("ticker.vol_idr");
+        String lastPrice = json().getString("ticker.last");
+        String volIdr = json().getString("ticker.vol_idr");
 
         // Detect which volume field exists (vol_btc, vol_eth, vol_usdt, etc.)
-        String volCrypto = response.jsonPath().getString("ticker.vol_btc");
-        String cryptoName = "BTC";
-
-        if (volCrypto == null) {
-            volCrypto = response.jsonPath().getString("ticker.vol_eth");
-            cryptoName = "ETH";
-        }
-        if (volCrypto == null) {
-            volCrypto = response.jsonPath().getString("ticker.vol_usdt");
-            cryptoName = "USDT";
+        String volField = null;
+        for (String field : json().getMap("ticker").keySet()) {
+            if (field.startsWith("vol_") && !field.equals("vol_idr")) {
+                volField = field;
+                break;
+            }
         }
-
-        assertNotNull("Volume crypto field should exist", volCrypto);
+        assertNotNull("Volume crypto field should exist", volField);
+        String volCrypto = json().getString("ticker." + volField);
 
         double last = Double.parseDouble(lastPrice);
         double cryptoVol = Double.parseDouble(volCrypto);
@@ -370,9 +592,18 @@ public class ApiSteps {
 
         // Allow 1% tolerance for calculation
         double tolerance = expectedVolIdr * 0.01;
-        assertTrue("Volume calculation should be correct: vol_idr ~= last * vol_" + cryptoName.toLowerCase(),
+        assertTrue("Volume calculation should be correct: vol_idr ~= last * " + volField,
                 Math.abs(idrVol - expectedVolIdr) <= tolerance);
-        logger.info("Volume calculation verified: {} ~= {} * {} ({})", idrVol, last, cryptoVol, cryptoName);
+        logger.info("Volume calculation verified: {} ~= {} * {} ({})", idrVol, last, cryptoVol, volField);
+    }
+
+    @Then("every market in the response should pass the ticker checks with {double} percent volume tolerance")
+    public void verifyAllMarkets(double volumeTolerancePercent) {
+        BulkTickerValidator.Result result = new BulkTickerValidator(volumeTolerancePercent).validate(response.asByteArray());
+        AllureAttachments.attach("Market Checks", result.report());
+        assertThat("Markets checked", result.getMarkets(), greaterThan(0));
+        assertTrue("Invalid markets " + result.getInvalidMarkets() + " - " + result.report(), result.isValid());
+        logger.info("All markets valid - {}", result.summary());
     }
 
     // ============================================
@@ -397,29 +628,25 @@ public class ApiSteps {
      */
     private void attachResponseToAllure() {
         if (response != null) {
-            Allure.addAttachment("Status Code", String.valueOf(response.getStatusCode()));
-            Allure.addAttachment("Response Time (ms)", String.valueOf(response.getTime()));
-            Allure.addAttachment("Response Body", "application/json", response.getBody().asString());
-            Allure.addAttachment("Response Headers", response.getHeaders().toString());
+            AllureAttachments.attach("Response", "Status Code: " + response.getStatusCode()
+                    + "\nResponse Time (ms): " + response.getTime()
+                    + "\n\n" + response.getHeaders());
+            AllureAttachments.attach("Response Body", "application/json", ".json", response.asByteArray());
         }
     }
 
     /**
-     * Parse JSON string to Map for request body
+     * Parsed body of the last response, shared by all assertions
      */
-    private Map<String, Object> parseJsonToMap(String json) {
-        Map<String, Object> map = new HashMap<>();
-        // Simple JSON parsing (for production use proper JSON library)
-        json = json.trim().replace("{", "").replace("}", "");
-        String[] pairs = json.split(",");
-        for (String pair : pairs) {
-            String[] keyValue = pair.split(":");
-            if (keyValue.length == 2) {
-                String key = keyValue[0].trim().replace("\"", "");
-                String value = keyValue[1].trim().replace("\"", "");
-                map.put(key, value);
-            }
-        }
-        return map;
+    private JsonDocument json() {
+        return apiClient.getJsonDocument();
+    }
+
+    /**
+     * Order book of the last depth response
+     */
+    private OrderBook orderBook() {
+        assertNotNull("No order book - send a successful depth request first", orderBook);
+        return orderBook;
     }
 }
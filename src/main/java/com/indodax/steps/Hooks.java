@@ -0,0 +1,89 @@
+package com.indodax.steps;
+
+import com.indodax.api.client.AsyncLogWriter;
+import com.indodax.api.client.CircuitBreaker;
+import com.indodax.api.client.HttpConnectionPool;
+import com.indodax.api.client.RateLimiter;
+import com.indodax.api.client.ResponseCache;
+import com.indodax.api.replay.ExchangeRecorder;
+import com.indodax.api.replay.ReplayServer;
+import com.indodax.config.ApiConfig;
+import com.indodax.helper.AllureAttachments;
+import com.indodax.performance.ApiMetrics;
+import com.indodax.performance.PerfHistory;
+import com.indodax.performance.ScenarioDurations;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Suite-level hooks, run once per test run.
+ * A distributed worker runs one Cucumber execution per scenario in the same
+ * JVM; it calls {@link #runAsWorker()} so the run is set up once and
+ * finished by the worker itself, not after every scenario.
+ */
+public class Hooks {
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+    private static volatile boolean worker;
+
+    /**
+     * Set up on the first execution only and leave {@link #finishRun()} to the caller
+     */
+    public static void runAsWorker() {
+        worker = true;
+    }
+
+    @BeforeAll
+    public static void beforeAll() {
+        if (worker && !STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        if (ApiConfig.isLocalEnvironment()) {
+            ReplayServer.startLocal();
+        }
+        HttpConnectionPool.warmUp(ApiConfig.getBaseUrl(), "/server_time", ApiConfig.HTTP_POOL_WARMUP_CONNECTIONS);
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        if (!worker) {
+            finishRun();
+        }
+    }
+
+    /**
+     * Export metrics and history, flush reports and stop the replay server
+     */
+    public static void finishRun() {
+        HttpConnectionPool.logStats();
+        ResponseCache.logStats();
+        CircuitBreaker.logStates();
+        RateLimiter.logStats();
+        ApiMetrics.export(Paths.get(ApiConfig.METRICS_DIR));
+        Map<String, Double> durations = ScenarioDurations.snapshotMillis();
+        ScenarioDurations.write(Paths.get(ApiConfig.METRICS_DIR, ScenarioDurations.FILE_NAME), durations);
+        if (ApiConfig.SHARD.isEmpty() && !worker) {
+            // shards and workers are folded in together by ShardMerge
+            ScenarioDurations.fold(Paths.get(ApiConfig.SCENARIO_DURATIONS_FILE), durations);
+        }
+        List<PerfHistory.Regression> regressions = PerfHistory.isEnabled()
+                ? PerfHistory.checkAndAppend(Paths.get(ApiConfig.PERF_HISTORY_DIR), Paths.get(ApiConfig.METRICS_DIR))
+                : List.of();
+        AsyncLogWriter.flush(10, TimeUnit.SECONDS);
+        AllureAttachments.flush(30, TimeUnit.SECONDS);
+        if (ApiConfig.RECORD_EXCHANGES) {
+            ExchangeRecorder.save(Paths.get(ApiConfig.RECORDINGS_FILE));
+        }
+        ReplayServer.stopLocal();
+        if (PerfHistory.failsOnRegression() && !regressions.isEmpty()) {
+            StringBuilder message = new StringBuilder("Latency regressed against the previous runs:");
+            regressions.forEach(regression -> message.append("\n  ").append(regression));
+            throw new AssertionError(message.toString());
+        }
+    }
+}
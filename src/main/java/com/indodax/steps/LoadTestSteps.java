@@ -0,0 +1,101 @@
+package com.indodax.steps;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.config.ApiConfig;
+import com.indodax.helper.AllureAttachments;
+import com.indodax.performance.LoadGenerator;
+import com.indodax.performance.LoadTestResult;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.qameta.allure.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps for load generation and assertions on its throughput, error rate and latency percentiles
+ */
+public class LoadTestSteps {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestSteps.class);
+
+    private final IndodaxApiClient apiClient = new IndodaxApiClient();
+    private LoadTestResult result;
+
+    @Step("Send {requests} GET requests to {endpoint} with concurrency {concurrency} for {seconds} seconds")
+    @When("I send {int} GET requests to {string} with concurrency {int} for {int} seconds")
+    public void runLoad(int requests, String endpoint, int concurrency, int seconds) {
+        result = new LoadGenerator(apiClient).run(endpoint, requests, concurrency, Duration.ofSeconds(seconds));
+        AllureAttachments.attach("Load Test Summary", result.summary());
+        AllureAttachments.attach("Latency Distribution (us)", latencyDistribution());
+    }
+
+    @Then("the load test error rate should be below {double} percent")
+    public void verifyErrorRate(double maxPercent) {
+        LoadTestResult r = loadResult();
+        assertTrue("Error rate " + r.getErrorRatePercent() + "% should be below " + maxPercent + "%",
+                r.getErrorRatePercent() < maxPercent);
+        logger.info("Error rate: {}%", r.getErrorRatePercent());
+    }
+
+    @Then("the load test throughput should be at least {double} requests per second")
+    public void verifyThroughput(double minThroughput) {
+        LoadTestResult r = loadResult();
+        assertTrue("Throughput " + r.getThroughput() + " req/s should be at least " + minThroughput,
+                r.getThroughput() >= minThroughput);
+        logger.info("Throughput: {} req/s", r.getThroughput());
+    }
+
+    @Then("the load test {word} latency should be below {int} ms")
+    public void verifyLatencyPercentile(String percentile, int maxMillis) {
+        double value = loadResult().getLatencyMillis(parsePercentile(percentile));
+        assertTrue(percentile + " latency " + value + "ms should be below " + maxMillis + "ms", value < maxMillis);
+        logger.info("{} latency: {}ms", percentile, value);
+    }
+
+    @Then("the {word} response time of GET {string} over {int} samples after {int} warm-up calls should be below {int} ms")
+    public void verifySampledResponseTime(String percentile, String endpoint, int samples, int warmup, int maxMillis) {
+        verifySampledResponseTime(percentile, endpoint, samples, ApiConfig.SAMPLING_CONCURRENCY, warmup, maxMillis);
+    }
+
+    @Step("{percentile} response time of GET {endpoint} over {samples} samples with concurrency {concurrency} after {warmup} warm-up calls")
+    @Then("the {word} response time of GET {string} over {int} samples with concurrency {int} after {int} warm-up calls should be below {int} ms")
+    public void verifySampledResponseTime(String percentile, String endpoint, int samples, int concurrency,
+                                          int warmup, int maxMillis) {
+        result = new LoadGenerator(apiClient).sample(endpoint, warmup, samples, concurrency);
+        AllureAttachments.attach("Response Time Samples", result.summary());
+        AllureAttachments.attach("Latency Distribution (us)", latencyDistribution());
+        assertEquals("Samples taken - " + result.summary(), samples, result.getRequests());
+        assertEquals("Failed samples - " + result.summary(), 0, result.getErrors());
+        double value = result.getLatencyMillis(parsePercentile(percentile));
+        assertTrue(percentile + " response time " + value + "ms over " + samples + " samples should be below "
+                + maxMillis + "ms", value < maxMillis);
+        logger.info("{} response time of {} over {} samples: {}ms", percentile, endpoint, samples, value);
+    }
+
+    private LoadTestResult loadResult() {
+        assertNotNull("No load test has been run in this scenario", result);
+        return result;
+    }
+
+    /**
+     * "p99.9" -> 99.9
+     */
+    private static double parsePercentile(String percentile) {
+        String value = percentile.toLowerCase().startsWith("p") ? percentile.substring(1) : percentile;
+        return Double.parseDouble(value);
+    }
+
+    private String latencyDistribution() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getLatencyHistogram().outputPercentileDistribution(new PrintStream(out, true, StandardCharsets.UTF_8), 1.0);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
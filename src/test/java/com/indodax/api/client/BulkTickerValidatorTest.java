@@ -0,0 +1,88 @@
+package com.indodax.api.client;
+
+import com.indodax.api.replay.RecordingStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkTickerValidatorTest {
+    private final BulkTickerValidator validator = new BulkTickerValidator(1);
+
+    @Test
+    void acceptsRecordedTickersAndSummaries() throws Exception {
+        RecordingStore store = RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json"));
+        for (String path : List.of("/tickers", "/summaries")) {
+            byte[] body = store.find("GET", path).body().getBytes(StandardCharsets.UTF_8);
+
+            BulkTickerValidator.Result result = validator.validate(body);
+
+            assertEquals(3, result.getMarkets(), path);
+            assertTrue(result.isValid(), result.report());
+        }
+    }
+
+    @Test
+    void reportsEveryViolationInPayloadOrder() {
+        String body = "{\"note\": \"a \\\"tickers\\\" {string}\", \"tickers\": {"
+                + "\"btc_idr\": {\"high\": \"90\", \"low\": \"100\", \"last\": \"95\", \"buy\": \"96\", \"sell\": \"94\","
+                + " \"vol_btc\": \"2\", \"vol_idr\": \"190\", \"server_time\": 1760781600},"
+                + "\"eth_btc\": {\"high\": \"0.04\", \"low\": \"0.03\", \"last\": \"0.035\", \"buy\": \"0.034\","
+                + " \"sell\": \"0.036\", \"vol_eth\": \"100\", \"vol_btc\": \"4\"},"
+                + "\"xrp_idr\": {\"high\": \"10\", \"low\": \"9\", \"last\": \"9.5\", \"buy\": \"0\", \"sell\": \"9.6\"},"
+                + "\"doge_idr\": {\"high\": \"n/a\", \"low\": \"1\", \"last\": \"1\", \"buy\": \"1\", \"sell\": \"1\"}"
+                + "}, \"prices_24h\": {\"btcidr\": \"90\"}}";
+
+        BulkTickerValidator.Result result = validator.validate(body.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(4, result.getMarkets());
+        assertEquals(List.of(
+                "btc_idr: high 90 < low 100",
+                "btc_idr: buy 96 > sell 94",
+                "eth_btc: vol_btc 4 is not within 1.00% of last * vol_eth = 3.5000000000000004",
+                "doge_idr: high is not a number: n/a",
+                "doge_idr: missing or invalid high/low/last/buy/sell"), result.getViolations(), result.report());
+        assertEquals(List.of("btc_idr", "eth_btc", "doge_idr"), result.getInvalidMarkets());
+    }
+
+    @Test
+    void splitsLargePayloadsWithoutChangingTheReport() {
+        StringBuilder body = new StringBuilder("{\"tickers\": {");
+        for (int i = 0; i < 5000; i++) {
+            long last = 1000 + i;
+            // every 97th market has a volume off by 5%
+            long volIdr = i % 97 == 0 ? last * 3 * 105 / 100 : last * 3;
+            body.append(i == 0 ? "" : ",\n  ").append("\"coin").append(i).append("_idr\": {\"high\": \"")
+                    .append(last + 10).append("\", \"low\": \"").append(last - 10).append("\", \"last\": \"").append(last)
+                    .append("\", \"buy\": \"").append(last - 1).append("\", \"sell\": \"").append(last)
+                    .append("\", \"vol_coin").append(i).append("\": \"3.00000000\", \"vol_idr\": \"").append(volIdr)
+                    .append("\"}");
+        }
+        byte[] bytes = body.append("}}").toString().getBytes(StandardCharsets.UTF_8);
+
+        BulkTickerValidator.Result sequential = validator.validate(bytes, 1);
+        BulkTickerValidator.Result parallel = validator.validate(bytes, 4);
+
+        assertEquals(1, sequential.getChunks());
+        assertEquals(4, parallel.getChunks());
+        assertEquals(5000, parallel.getMarkets());
+        assertEquals(52, parallel.getViolations().size(), parallel.summary());
+        assertEquals(sequential.getViolations(), parallel.getViolations());
+        assertTrue(parallel.getViolations().get(1).startsWith("coin97_idr: vol_idr"), parallel.getViolations().get(1));
+    }
+
+    @Test
+    void rejectsBodiesWithoutTickers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validate("{\"error\": \"bad\"}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validate("{\"tickers\": {\"btc_idr\": {\"high\": ".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validate("{\"tickers\": {\"btc_idr\": 5}}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
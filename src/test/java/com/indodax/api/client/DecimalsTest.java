@@ -0,0 +1,38 @@
+package com.indodax.api.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DecimalsTest {
+
+    @Test
+    void matchesDoubleParseDouble() {
+        String[] values = {"0", "1065000000", "0.05000000", "0.00000001", "25123456.78000000", "-16395.5",
+                "+1.25", "159881481471", "0.1", "123456789012345", "1234567890123456789", "1e-9", "3.4E10",
+                ".5", "7.", "0.000000000000000000000001234"};
+        for (String value : values) {
+            assertEquals(Double.parseDouble(value), parse(value), value);
+        }
+    }
+
+    @Test
+    void parsesARangeOfABuffer() {
+        char[] buffer = "[\"0.06000000\"]".toCharArray();
+        assertEquals(0.06, Decimals.parse(buffer, 2, 10));
+    }
+
+    @Test
+    void rejectsNonNumbers() {
+        assertThrows(NumberFormatException.class, () -> parse(""));
+        assertThrows(NumberFormatException.class, () -> parse("-"));
+        assertThrows(NumberFormatException.class, () -> parse("."));
+        assertThrows(NumberFormatException.class, () -> parse("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> parse("abc"));
+    }
+
+    private static double parse(String value) {
+        return Decimals.parse(value.toCharArray(), 0, value.length());
+    }
+}
@@ -0,0 +1,60 @@
+package com.indodax.api.client;
+
+import com.indodax.config.LoggingLevel;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExchangeLogTest {
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/tickers", exchange -> {
+            byte[] body = ("{\"tickers\":\"" + "x".repeat(500) + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void keepsOnlyLastExchangesWithTruncatedBodies() {
+        ExchangeLog log = new ExchangeLog(LoggingLevel.ON_FAILURE, 3, 100);
+        for (int i = 0; i < 5; i++) {
+            RestAssured.given().baseUri(baseUrl).filter(log).get("/tickers?i=" + i);
+        }
+
+        List<ExchangeLog.Exchange> recent = log.getRecent();
+        assertEquals(3, recent.size());
+        assertTrue(recent.get(0).uri().endsWith("i=2"), recent.get(0).uri());
+        assertTrue(recent.get(2).uri().endsWith("i=4"), recent.get(2).uri());
+
+        ExchangeLog.Exchange last = recent.get(2);
+        assertEquals(200, last.statusCode());
+        assertTrue(last.responseBytes() > 500);
+        assertTrue(last.responseBody().startsWith("{\"tickers\":\"xxx"));
+        assertTrue(last.responseBody().endsWith("more chars]"), last.responseBody());
+        assertTrue(log.dump().contains("GET " + baseUrl + "/tickers?i=4 -> 200"));
+    }
+}
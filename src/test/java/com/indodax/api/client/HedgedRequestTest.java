@@ -0,0 +1,141 @@
+package com.indodax.api.client;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.performance.ApiMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedRequestTest {
+    private HttpServer server;
+    private ExecutorService handlers;
+    private final AtomicInteger hits = new AtomicInteger();
+    /** Request number (1-based) that stalls, 0 for none */
+    private volatile int slowRequest;
+    private volatile long stallMillis;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        handlers = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/", exchange -> {
+            int hit = hits.incrementAndGet();
+            if (hit == slowRequest || (slowRequest == 0 && stallMillis > 0)) {
+                try {
+                    Thread.sleep(stallMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"server_time\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            } catch (Exception ignored) {
+                // the client gave up on this request
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    void backupAnswersAStalledGet() {
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+        client.setHedging(true);
+        for (int i = 0; i < 25; i++) {
+            client.getServerTime();
+        }
+        long firedBefore = client.getHedgesFired();
+        long wonBefore = client.getHedgesWon();
+        long backupWinsBefore = ApiMetrics.getHedgeCount("GET", "/server_time", true);
+        long requestNanosBefore = client.getRequestNanos();
+
+        slowRequest = hits.get() + 1;
+        stallMillis = 3000;
+        long start = System.nanoTime();
+        Response response = client.getServerTime();
+        long elapsedNanos = System.nanoTime() - start;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        long requestNanos = client.getRequestNanos() - requestNanosBefore;
+
+        assertEquals(200, response.getStatusCode());
+        assertTrue(elapsedMs < 2000, "took " + elapsedMs + " ms");
+        assertEquals(1, client.getHedgesFired() - firedBefore);
+        assertEquals(1, client.getHedgesWon() - wonBefore);
+        assertEquals(1, ApiMetrics.getHedgeCount("GET", "/server_time", true) - backupWinsBefore);
+        assertEquals(0, client.getRetryCount());
+        // one sample covering the hedge delay and the backup, not one per overlapping request
+        assertTrue(requestNanos <= elapsedNanos, requestNanos + " ns recorded for a " + elapsedNanos + " ns call");
+        assertTrue(requestNanos >= ApiConfig.HEDGE_MIN_DELAY_MS * 1_000_000, requestNanos + " ns recorded");
+    }
+
+    @Test
+    void losingRequestGivesItsConnectionBackToThePool() throws InterruptedException {
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+        client.setHedging(true);
+        for (int i = 0; i < 25; i++) {
+            client.getServerTime();
+        }
+
+        slowRequest = hits.get() + 1;
+        stallMillis = 3000;
+        assertEquals(200, client.getServerTime().getStatusCode());
+
+        // the stalled first request would hold its lease for 3 s if it were only abandoned
+        long waitUntil = System.nanoTime() + 1_000_000_000L;
+        while (HttpConnectionPool.getStats().getLeased() > 0 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, HttpConnectionPool.getStats().getLeased());
+    }
+
+    @Test
+    void deadlineCutsAStalledRequestShort() {
+        stallMillis = 3000;
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+        client.setDeadline(Deadline.after(300));
+
+        long start = System.nanoTime();
+        DeadlineExceededException e = assertThrows(DeadlineExceededException.class, client::getServerTime);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2000, "took " + elapsedMs + " ms");
+        assertTrue(client.getDeadline().isExpired());
+        assertThrows(DeadlineExceededException.class, client::getServerTime, "nothing is sent after the deadline");
+        assertTrue(e.getMessage().contains("/server_time"), e.getMessage());
+    }
+
+    @Test
+    void deadlineIsNotHitByFastRequests() {
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+        client.setDeadline(Deadline.after(10_000));
+
+        assertEquals(200, client.getServerTime().getStatusCode());
+        assertTrue(client.getDeadline().isBounded());
+        assertTrue(client.getDeadline().remainingMillis() > 0);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,52 @@
+package com.indodax.api.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.pool.PoolStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpConnectionPoolTest {
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/server_time", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{\"timezone\":\"UTC\",\"server_time\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void clientsReuseKeepAliveConnectionsFromSharedPool() {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, new IndodaxApiClient(baseUrl).getServerTime().getStatusCode());
+        }
+
+        assertEquals(1, clientPorts.size(), "All requests should share one pooled connection");
+        PoolStats stats = HttpConnectionPool.getStats();
+        assertEquals(0, stats.getLeased(), "Connections should be returned to the pool");
+    }
+}
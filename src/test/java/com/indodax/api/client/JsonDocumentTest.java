@@ -0,0 +1,41 @@
+package com.indodax.api.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JsonDocumentTest {
+
+    private static JsonDocument parse(String json) {
+        return JsonDocument.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsRestAssuredStylePaths() {
+        JsonDocument ticker = parse("{\"ticker\":{\"high\":\"110\",\"low\":\"90\",\"server_time\":1729238400}}");
+        assertEquals("110", ticker.getString("ticker.high"));
+        assertEquals(90.0, ticker.getDouble("ticker.low"));
+        assertEquals(1729238400, ((Number) ticker.get("ticker.server_time")).longValue());
+        assertEquals(Map.of("high", "110", "low", "90", "server_time", 1729238400), ticker.getMap("ticker"));
+        assertNull(ticker.get("ticker.vol_eth"));
+
+        JsonDocument pairs = parse("[{\"id\":\"btcidr\",\"symbol\":\"BTCIDR\"},{\"id\":\"ethidr\"}]");
+        assertEquals("btcidr", pairs.get("[0].id"));
+        assertEquals(2, pairs.getList("$").size());
+        assertEquals(List.of("btcidr", "ethidr"), pairs.getList("$[*].id"));
+    }
+
+    @Test
+    void countsParses() {
+        long before = JsonDocument.getTotalParseCount();
+        JsonDocument document = parse("{\"a\":1}");
+        document.get("a");
+        document.get("a");
+        assertEquals(before + 1, JsonDocument.getTotalParseCount());
+    }
+}
@@ -0,0 +1,114 @@
+package com.indodax.api.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonRequestBodyTest {
+    private HttpServer server;
+    private IndodaxApiClient client;
+    private final AtomicReference<byte[]> received = new AtomicReference<>();
+    private final AtomicReference<String> receivedContentType = new AtomicReference<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                received.set(in.readAllBytes());
+            }
+            receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            byte[] reply = "{\"success\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, reply.length);
+            exchange.getResponseBody().write(reply);
+            exchange.close();
+        });
+        server.start();
+        client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort() + "/api");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsTheOriginalBytes() {
+        String json = "{\"pair\": \"btc:idr\", \"price\": 1065000000.5, \"nested\": {\"ids\": [1, 2, 3]}, \"note\": \"a, b\"}";
+
+        client.sendPost("/orders", JsonRequestBody.of("  " + json + "\n"));
+
+        assertEquals(200, client.getStatusCode());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), received.get());
+        assertTrue(receivedContentType.get().startsWith("application/json"), receivedContentType.get());
+    }
+
+    @Test
+    void putAndPatchSendTheBodyToo() {
+        client.sendPut("/orders/1", JsonRequestBody.of("[true, null]"));
+        assertEquals("[true, null]", new String(received.get(), StandardCharsets.UTF_8));
+
+        client.sendPatch("/orders/1", JsonRequestBody.of("{\"status\": \"open\"}"));
+        assertEquals("{\"status\": \"open\"}", new String(received.get(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsInvalidJsonWithLocation() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> JsonRequestBody.of("{\n  \"pair\": btcidr\n}"));
+
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+        assertTrue(error.getMessage().contains("column"), error.getMessage());
+    }
+
+    @Test
+    void rejectsTrailingContent() {
+        assertThrows(IllegalArgumentException.class, () -> JsonRequestBody.of("{\"a\": 1} {\"b\": 2}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonRequestBody.of(""));
+    }
+
+    @Test
+    void streamsLargeGeneratedBodies() throws Exception {
+        JsonRequestBody body = JsonRequestBody.generate(generator -> {
+            generator.writeStartArray();
+            for (int i = 0; i < 100_000; i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", i);
+                generator.writeStringField("pair", "btcidr");
+                generator.writeNumberField("price", 1065000000L + i);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        });
+        assertFalse(body.isInMemory());
+        assertTrue(body.length() > 4_000_000, "length " + body.length());
+
+        client.sendPost("/orders/bulk", body);
+
+        assertEquals(200, client.getStatusCode());
+        assertEquals(body.length(), received.get().length);
+        JsonRequestBody echoed = JsonRequestBody.of(new String(received.get(), StandardCharsets.UTF_8));
+        assertEquals(body.length(), echoed.length());
+        assertArrayEquals(sha256(Files.readAllBytes(body.file())), sha256(received.get()));
+    }
+
+    private static byte[] sha256(byte[] bytes) throws Exception {
+        return MessageDigest.getInstance("SHA-256").digest(bytes);
+    }
+}
@@ -0,0 +1,103 @@
+package com.indodax.api.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookTest {
+
+    @Test
+    void readsLevelsIntoPrimitiveArrays() {
+        OrderBook book = OrderBook.parse(bytes("{\"buy\": [[1064900000, \"0.05000000\"], [1064850000, \"0.06\"]],"
+                + " \"sell\": [[1065000000, \"0.04\", \"extra\"], [1065050000.5, 1.5]], \"timestamp\": {\"ignored\": [1]}}"));
+
+        assertEquals(2, book.getBidCount());
+        assertEquals(2, book.getAskCount());
+        assertEquals(1064900000, book.getBestBid());
+        assertEquals(0.05, book.getBidAmount(0));
+        assertEquals(0.06, book.getBidAmount(1));
+        assertEquals(1065050000.5, book.getAskPrice(1));
+        assertEquals(1.5, book.getAskAmount(1));
+        assertEquals(100000, book.getSpread());
+        assertThrows(IndexOutOfBoundsException.class, () -> book.getBidPrice(2));
+    }
+
+    @Test
+    void reusesTheBookAcrossReads() {
+        OrderBook book = new OrderBook();
+        assertSame(book, book.read(bytes(depth(1000, 1001, 1000))));
+        assertEquals(1000, book.getBidCount());
+        assertEquals(1, book.getBidPrice(999));
+        assertEquals(2000, book.getAskPrice(999));
+
+        book.read(bytes(depth(500, 501, 3)));
+        assertEquals(3, book.getBidCount());
+        assertEquals(3, book.getAskCount());
+        assertEquals(500, book.getBestBid());
+        assertTrue(book.analyze(1).isValid(), book.analyze(1).summary());
+    }
+
+    @Test
+    void analysesOrderingSpreadAndDepthInOnePass() {
+        OrderBook book = OrderBook.parse(bytes(depth(100, 101, 10)));
+        OrderBook.Analysis analysis = book.analyze(5);
+
+        assertTrue(analysis.isValid(), analysis.summary());
+        assertEquals(1, analysis.getSpread());
+        assertEquals(1 / 100.5 * 100, analysis.getSpreadPercent(), 1e-9);
+        // mid 100.5: bids down to 95.475 and asks up to 105.525 are within 5%
+        assertEquals(5.0, analysis.getBidDepth(), 1e-9);
+        assertEquals(5.0, analysis.getAskDepth(), 1e-9);
+        assertEquals(0.0, book.getTickerDeviationPercent(100, 101));
+        assertEquals(1.0, book.getTickerDeviationPercent(100, 100), 1e-9);
+    }
+
+    @Test
+    void reportsEveryViolation() {
+        OrderBook book = OrderBook.parse(bytes("{\"buy\": [[100, \"1\"], [101, \"1\"], [99, \"0\"]],"
+                + " \"sell\": [[99, \"1\"], [98, \"1\"]]}"));
+        OrderBook.Analysis analysis = book.analyze(1);
+
+        assertFalse(analysis.isValid());
+        String violations = String.join("\n", analysis.getViolations());
+        assertTrue(violations.contains("crossed book: best bid 100 >= best ask 99"), violations);
+        assertTrue(violations.contains("bids not descending at level 1: 100 then 101"), violations);
+        assertTrue(violations.contains("bid level 2 has non-positive price or amount"), violations);
+        assertTrue(violations.contains("asks not ascending at level 1: 99 then 98"), violations);
+        assertEquals(4, analysis.getViolations().size());
+    }
+
+    @Test
+    void rejectsBodiesWithoutABook() {
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderBook.parse(bytes("{\"error\": \"invalid_pair\", \"error_description\": \"Invalid pair\"}")));
+        assertThrows(IllegalArgumentException.class, () -> OrderBook.parse(bytes("{\"buy\": [[100, null]]}")));
+        assertThrows(IllegalArgumentException.class, () -> OrderBook.parse(bytes("{\"buy\": [[100, \"1\"")));
+        assertFalse(OrderBook.parse(bytes("{\"buy\": [], \"sell\": [[1, \"1\"]]}")).analyze(1).isValid());
+    }
+
+    /**
+     * Levels one price unit apart on each side of bestBid/bestAsk, amount 1 each
+     */
+    private static String depth(int bestBid, int bestAsk, int levels) {
+        StringBuilder body = new StringBuilder("{\"buy\": [");
+        for (int i = 0; i < levels; i++) {
+            body.append(i == 0 ? "" : ", ").append('[').append(bestBid - i).append(", \"1.00000000\"]");
+        }
+        body.append("], \"sell\": [");
+        for (int i = 0; i < levels; i++) {
+            body.append(i == 0 ? "" : ", ").append('[').append(bestAsk + i).append(", \"1.00000000\"]");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.indodax.api.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void allowsBurstThenSustainedRateAcrossThreads() throws Exception {
+        RateLimiter limiter = new RateLimiter("test", 100, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long start = System.nanoTime();
+        try {
+            List<Future<Long>> waits = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                waits.add(executor.submit(limiter::acquire));
+            }
+            for (Future<Long> wait : waits) {
+                wait.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 10 immediately, the other 30 at 100/s (a slow thread start can let one or two through on refill)
+        assertTrue(elapsedMillis >= 250, "took " + elapsedMillis + " ms");
+        assertTrue(limiter.getWaitedCount() >= 27 && limiter.getWaitedCount() <= 30, "waited " + limiter.getWaitedCount());
+        assertTrue(limiter.getWaitMillis() > 0);
+    }
+
+    @Test
+    void throttlingPausesCallersAndSlowsTheRate() {
+        RateLimiter limiter = new RateLimiter("test", 1000, 1);
+        limiter.onThrottled(100);
+
+        long waited = TimeUnit.NANOSECONDS.toMillis(limiter.acquire());
+
+        assertTrue(waited >= 90, "waited " + waited + " ms");
+        assertEquals(500, limiter.getCurrentRate(), 1);
+        for (int i = 0; i < 200; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(1000, limiter.getCurrentRate(), 1);
+    }
+
+    @Test
+    void unlimitedLimiterStillHonoursRetryAfter() {
+        RateLimiter limiter = new RateLimiter("test", 0, 1);
+        assertEquals(0, limiter.acquire());
+        limiter.onThrottled(50);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(limiter.acquire()) >= 40);
+        assertEquals(0, limiter.acquire());
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndDates() {
+        assertEquals(3000, RateLimiter.parseRetryAfter("3"));
+        assertEquals(1000, RateLimiter.parseRetryAfter(null));
+        assertEquals(1000, RateLimiter.parseRetryAfter("soon"));
+        String inFiveSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(5));
+        long millis = RateLimiter.parseRetryAfter(inFiveSeconds);
+        assertTrue(millis > 3000 && millis <= 5000, "parsed " + millis);
+    }
+
+    @Test
+    void clientRetriesAfter429() throws Exception {
+        AtomicInteger hits = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            boolean throttle = hits.incrementAndGet() == 1;
+            byte[] body = (throttle ? "{\"error\":\"too many requests\"}" : "{\"server_time\":1}").getBytes(StandardCharsets.UTF_8);
+            if (throttle) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+            }
+            exchange.sendResponseHeaders(throttle ? 429 : 200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        try {
+            IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+
+            assertEquals(200, client.getServerTime().getStatusCode());
+            assertEquals(2, hits.get());
+            assertEquals(1, client.getRetryCount());
+            assertTrue(client.getRateLimitWaitMillis() >= 900, "waited " + client.getRateLimitWaitMillis() + " ms");
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.indodax.api.client;
+
+import com.indodax.api.replay.RecordingStore;
+import com.indodax.api.replay.ReplayServer;
+import com.indodax.config.ApiConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCacheTest {
+    private ReplayServer server;
+    private IndodaxApiClient client;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = new ReplayServer(RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json")), 0, 0, 0, 0);
+        client = new IndodaxApiClient(server.getBaseUrl());
+        ResponseCache.clear();
+        ResponseCache.setEnabled(true);
+    }
+
+    @AfterEach
+    void stop() {
+        ResponseCache.setEnabled(ApiConfig.RESPONSE_CACHE_ENABLED);
+        ResponseCache.setTtl("/pairs", ApiConfig.RESPONSE_CACHE_TTL_MS.getOrDefault("/pairs", 0L));
+        ResponseCache.clear();
+        server.close();
+    }
+
+    @Test
+    void servesFreshEntriesWithoutRequests() {
+        Response first = client.getPairs();
+        Response second = client.getPairs();
+        client.getPriceIncrements();
+
+        assertSame(first, second);
+        assertEquals(2, server.getServedCount());
+        assertEquals(1, ResponseCache.getHits());
+        assertEquals(2, ResponseCache.getMisses());
+    }
+
+    @Test
+    void revalidatesStaleEntriesWithEtag() {
+        ResponseCache.setTtl("/pairs", 0);
+        client.getPairs();
+        assertEquals(0, ResponseCache.size(), "TTL 0 is not cached");
+
+        ResponseCache.setTtl("/pairs", 1);
+        Response first = client.getPairs();
+        sleep(5);
+        Response second = client.getPairs();
+
+        assertSame(first, second);
+        assertEquals(3, server.getServedCount());
+        assertEquals(1, ResponseCache.getRevalidations());
+        assertEquals(200, client.getStatusCode());
+    }
+
+    @Test
+    void bypassAlwaysHitsTheServer() {
+        client.getPairs();
+        client.getPairsUncached();
+        client.getPriceIncrementsUncached();
+
+        assertEquals(3, server.getServedCount());
+        assertEquals(0, ResponseCache.getHits());
+    }
+
+    @Test
+    void disabledCacheSendsEveryRequest() {
+        ResponseCache.setEnabled(false);
+        client.getPairs();
+        client.getPairs();
+
+        assertEquals(2, server.getServedCount());
+        assertEquals(0, ResponseCache.size());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
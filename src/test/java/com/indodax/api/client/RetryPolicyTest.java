@@ -0,0 +1,140 @@
+package com.indodax.api.client;
+
+import com.indodax.performance.ApiMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int failuresBeforeSuccess;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int status = hits.incrementAndGet() <= failuresBeforeSuccess ? 503 : 200;
+            byte[] body = "{\"server_time\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void backoffGrowsExponentiallyWithJitterUpToCap() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 1000);
+        for (int i = 0; i < 50; i++) {
+            long first = policy.backoffMillis(0);
+            long third = policy.backoffMillis(2);
+            long capped = policy.backoffMillis(10);
+            assertTrue(first >= 50 && first <= 100, "first " + first);
+            assertTrue(third >= 200 && third <= 400, "third " + third);
+            assertTrue(capped >= 500 && capped <= 1000, "capped " + capped);
+        }
+        assertEquals(6, policy.maxAttempts("GET"));
+        assertEquals(6, policy.maxAttempts("delete"));
+        assertEquals(1, policy.maxAttempts("POST"));
+    }
+
+    @Test
+    void retriesIdempotentRequestsUntilTheyPass() {
+        failuresBeforeSuccess = 2;
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+        long retriesBefore = ApiMetrics.getRetryCount("GET", "/server_time");
+
+        Response response = client.getServerTime();
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(3, hits.get());
+        assertEquals(2, client.getRetryCount());
+        assertEquals(2, ApiMetrics.getRetryCount("GET", "/server_time") - retriesBefore);
+    }
+
+    @Test
+    void doesNotRetryPost() {
+        failuresBeforeSuccess = 1;
+        IndodaxApiClient client = new IndodaxApiClient(baseUrl());
+
+        assertEquals(503, client.sendPost("/server_time", Map.of("a", 1)).getStatusCode());
+        assertEquals(1, hits.get());
+        assertEquals(0, client.getRetryCount());
+    }
+
+    @Test
+    void circuitBreakerOpensFailsFastAndRecovers() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("example:1", 2, 50);
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+
+        Thread.sleep(60);
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission, "one trial at a time");
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(60);
+        breaker.acquirePermission();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(CircuitBreaker.getTransitions().stream().anyMatch(t -> t.startsWith("example:1: HALF_OPEN -> CLOSED")));
+    }
+
+    @Test
+    void halfOpenTrialEndingInANonIoErrorDoesNotJamTheBreaker() throws Exception {
+        CircuitBreaker breaker = CircuitBreaker.forHost("127.0.0.1:" + server.getAddress().getPort(), 1, 50);
+        FailingClient failing = new FailingClient(baseUrl());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(60);
+        assertThrows(IllegalStateException.class, failing::getServerTime);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        assertEquals(200, new IndodaxApiClient(baseUrl()).getServerTime().getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Fails every request on the client side, before anything is sent
+     */
+    private static class FailingClient extends BaseApiClient {
+        FailingClient(String baseUrl) {
+            super(baseUrl);
+        }
+
+        Response getServerTime() {
+            return send("GET", "/server_time", () -> {
+                throw new IllegalStateException("request could not be built");
+            });
+        }
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,99 @@
+package com.indodax.api.replay;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.performance.PairTickerSweep;
+import com.indodax.performance.SweepResult;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayServerTest {
+
+    @Test
+    void replaysRecordedEndpoints() throws Exception {
+        RecordingStore store = RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json"));
+        try (ReplayServer server = new ReplayServer(store, 0, 0, 0, 0)) {
+            IndodaxApiClient client = new IndodaxApiClient(server.getBaseUrl());
+
+            assertEquals(200, client.getServerTime().getStatusCode());
+            Response ticker = client.getTicker("btcidr");
+            assertEquals(200, ticker.getStatusCode());
+            assertEquals("application/json", ticker.getContentType());
+            assertNotNull(client.getJsonDocument().get("ticker.last"));
+            assertEquals(200, client.getPairs().getStatusCode());
+            assertEquals(200, client.getDepth("btcidr").getStatusCode());
+
+            Response missing = client.getTicker("nosuchpair");
+            assertEquals(404, missing.getStatusCode());
+            assertTrue(missing.asString().contains("GET /ticker/nosuchpair"));
+            assertEquals(5, server.getServedCount());
+        }
+    }
+
+    @Test
+    void injectsLatencyAndErrors() throws Exception {
+        RecordingStore store = new RecordingStore();
+        store.put("GET", "/server_time", new RecordingStore.Recording(200, "application/json", "{\"server_time\":1}"));
+
+        try (ReplayServer slow = new ReplayServer(store, 0, 50, 0, 0)) {
+            Response response = new IndodaxApiClient(slow.getBaseUrl()).getServerTime();
+            assertEquals(200, response.getStatusCode());
+            assertTrue(response.getTime() >= 50, "took " + response.getTime() + " ms");
+        }
+        try (ReplayServer failing = new ReplayServer(store, 0, 0, 0, 1.0)) {
+            // POST is not retried, so exactly one request reaches the server
+            assertEquals(503, new IndodaxApiClient(failing.getBaseUrl()).sendPost("/server_time", Map.of()).getStatusCode());
+            assertEquals(1, failing.getInjectedErrorCount());
+        }
+    }
+
+    @Test
+    void recordsSweepRequestsSoTheSweepReplays() throws Exception {
+        RecordingStore production = new RecordingStore();
+        production.put("GET", "/pairs", new RecordingStore.Recording(200, "application/json",
+                "[{\"id\":\"btcidr\"},{\"id\":\"ethidr\"},{\"id\":\"solidr\"}]"));
+        for (String pair : new String[]{"btcidr", "ethidr", "solidr"}) {
+            production.put("GET", "/ticker/" + pair, new RecordingStore.Recording(200, "application/json",
+                    "{\"ticker\":{\"high\":\"100\",\"low\":\"90\",\"last\":\"95\",\"buy\":\"94\",\"sell\":\"96\"}}"));
+        }
+
+        RecordingStore recorded = new RecordingStore();
+        try (ReplayServer live = new ReplayServer(production, 0, 0, 0, 0)) {
+            IndodaxApiClient client = new IndodaxApiClient(live.getBaseUrl());
+            client.setRecorder(new ExchangeRecorder(recorded));
+            assertTrue(new PairTickerSweep(client).run(2).getFailures().isEmpty());
+        }
+        // the sweep's tickers go through the quiet path and must be recorded as well
+        assertEquals(4, recorded.size());
+
+        try (ReplayServer replay = new ReplayServer(recorded, 0, 0, 0, 0)) {
+            SweepResult result = new PairTickerSweep(new IndodaxApiClient(replay.getBaseUrl())).run(2);
+            assertEquals(3, result.getPairs());
+            assertTrue(result.getFailures().isEmpty(), result.report());
+        }
+    }
+
+    @Test
+    void savesAndReloadsRecordings(@TempDir Path dir) {
+        Path file = dir.resolve("recordings.json");
+        RecordingStore first = new RecordingStore();
+        first.put("GET", "/ticker/btcidr", new RecordingStore.Recording(200, "application/json", "{\"ticker\":{\"last\":\"1\"}}"));
+        first.save(file);
+        RecordingStore second = new RecordingStore();
+        second.put("GET", "/robots.txt", new RecordingStore.Recording(200, "text/plain", "User-agent: *"));
+        second.save(file);
+
+        RecordingStore loaded = RecordingStore.load(file);
+        assertEquals(2, loaded.size());
+        assertEquals("{\"ticker\":{\"last\":\"1\"}}", loaded.find("GET", "/ticker/btcidr").body());
+        assertEquals("User-agent: *", loaded.find("get", "/robots.txt?x=1").body());
+    }
+}
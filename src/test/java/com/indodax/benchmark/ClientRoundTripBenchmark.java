@@ -0,0 +1,53 @@
+package com.indodax.benchmark;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.api.replay.RecordingStore;
+import com.indodax.api.replay.ReplayServer;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full client round trips against the in-process replay server: the
+ * tracked path every step uses (filters, metrics, retry and breaker
+ * bookkeeping) and the quiet path used by the load generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientRoundTripBenchmark {
+    private ReplayServer server;
+    private IndodaxApiClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new ReplayServer(RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json")), 0, 0, 0, 0);
+        client = new IndodaxApiClient(server.getBaseUrl());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public Response getServerTime() {
+        return client.getServerTime();
+    }
+
+    @Benchmark
+    public Response getTicker() {
+        return client.getTicker("btcidr");
+    }
+
+    @Benchmark
+    public Response getServerTimeQuietly() {
+        return client.sendGetQuietly("/server_time");
+    }
+}
@@ -0,0 +1,100 @@
+package com.indodax.benchmark;
+
+import com.indodax.helper.ExcelReader;
+import com.indodax.helper.StreamingExcelReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data lookups on a generated workbook of {@code rows} rows:
+ * on an already open ExcelReader (indexed lookup, full scan) and cold
+ * (open, select, look up, close) with both readers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelReaderBenchmark {
+    private static final String SHEET = "Data";
+    private static final String[] COLUMNS = {"Test ID", "Pair", "Expected Status", "Description", "Enabled"};
+
+    @Param({"10000"})
+    public int rows;
+
+    private Path file;
+    private ExcelReader openReader;
+    private String lastTestId;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("benchmark-testdata", ".xlsx");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET);
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < COLUMNS.length; c++) {
+                header.createCell(c).setCellValue(COLUMNS[c]);
+            }
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("TC-" + i);
+                row.createCell(1).setCellValue("pair" + i + "idr");
+                row.createCell(2).setCellValue(200);
+                row.createCell(3).setCellValue("Generated test case number " + i);
+                row.createCell(4).setCellValue(i % 2 == 0);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        lastTestId = "TC-" + rows;
+        openReader = new ExcelReader(file.toString());
+        openReader.selectSheet(SHEET);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        openReader.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Map<String, String> getTestDataByName() {
+        return openReader.getTestDataByName(lastTestId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, String>> getAllDataAsMap() {
+        return openReader.getAllDataAsMap();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, String> coldLookupWorkbook() {
+        try (ExcelReader reader = new ExcelReader(file.toString())) {
+            reader.selectSheet(SHEET);
+            return reader.getTestDataByName(lastTestId);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, String> coldLookupStreaming() {
+        try (StreamingExcelReader reader = new StreamingExcelReader(file.toString())) {
+            reader.selectSheet(SHEET);
+            return reader.getTestDataByName(lastTestId);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.indodax.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.indodax.api.client.BulkTickerValidator;
+import com.indodax.api.client.JsonDocument;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading five ticker fields from a /tickers body: RestAssured's JsonPath
+ * (what response.jsonPath() builds on every call) against the shared
+ * JsonDocument. The body is the recorded /tickers payload, either as
+ * recorded or with its tickers repeated to {@code pairs} entries, roughly
+ * the size of the production response. bulkTickerValidator checks every
+ * market of the same body in one pass, for comparison with reading one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathExtractionBenchmark {
+    private static final String RECORDINGS = "src/test/resources/recordings/indodax.json";
+    private static final String[] FIELDS = {"high", "low", "last", "buy", "sell"};
+
+    /**
+     * 0 keeps the recorded payload as is
+     */
+    @Param({"0", "500"})
+    public int pairs;
+
+    private final BulkTickerValidator validator = new BulkTickerValidator(1);
+    private String body;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonObject recordings = JsonParser.parseString(Files.readString(Paths.get(RECORDINGS))).getAsJsonObject();
+        JsonObject tickersBody = recordings.getAsJsonObject("GET /tickers").getAsJsonObject("json");
+        if (pairs > 0) {
+            JsonObject recorded = tickersBody.getAsJsonObject("tickers");
+            JsonObject tickers = new JsonObject();
+            int i = 0;
+            while (tickers.size() < pairs) {
+                for (Map.Entry<String, JsonElement> ticker : recorded.entrySet()) {
+                    tickers.add(i == 0 ? ticker.getKey() : ticker.getKey() + i, ticker.getValue());
+                }
+                i++;
+            }
+            tickersBody = new JsonObject();
+            tickersBody.add("tickers", tickers);
+        }
+        body = tickersBody.toString();
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void restAssuredJsonPath(Blackhole blackhole) {
+        JsonPath jsonPath = new JsonPath(body);
+        for (String field : FIELDS) {
+            blackhole.consume(jsonPath.getString("tickers.btc_idr." + field));
+        }
+    }
+
+    @Benchmark
+    public void jsonDocument(Blackhole blackhole) {
+        JsonDocument document = JsonDocument.parse(bodyBytes);
+        for (String field : FIELDS) {
+            blackhole.consume(document.getString("tickers.btc_idr." + field));
+        }
+    }
+
+    @Benchmark
+    public BulkTickerValidator.Result bulkTickerValidator() {
+        return validator.validate(bodyBytes);
+    }
+}
@@ -0,0 +1,44 @@
+package com.indodax.benchmark;
+
+import com.indodax.helper.JsonSchemaRegistry;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating one /ticker response against ticker_schema.json:
+ * the old per-call matcher (reload + recompile) vs the shared compiled schema.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSchemaValidationBenchmark {
+    private static final String TICKER_BODY = "{\"ticker\":{\"high\":\"1750000000\",\"low\":\"1690000000\","
+            + "\"vol_btc\":\"58.71563117\",\"vol_idr\":\"101036513290\",\"last\":\"1721000000\","
+            + "\"buy\":\"1720999000\",\"sell\":\"1721000000\",\"server_time\":1729238400}}";
+
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setUp() {
+        bodyBytes = TICKER_BODY.getBytes(StandardCharsets.UTF_8);
+        JsonSchemaRegistry.getSchema("ticker_schema.json");
+    }
+
+    @Benchmark
+    public boolean perCallMatcher() {
+        File schemaFile = new File("src/test/resources/schemas/ticker_schema.json");
+        return JsonSchemaValidator.matchesJsonSchema(schemaFile).matches(TICKER_BODY);
+    }
+
+    @Benchmark
+    public boolean compiledSchemaRegistry() {
+        return JsonSchemaRegistry.validate("ticker_schema.json", bodyBytes).isSuccess();
+    }
+}
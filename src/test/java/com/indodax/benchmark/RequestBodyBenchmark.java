@@ -0,0 +1,57 @@
+package com.indodax.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.indodax.api.client.JsonRequestBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a doc-string request body into what goes on the wire:
+ * JsonRequestBody (streaming validation, original bytes) against a typed
+ * Map round trip (parse into a Map, serialize it back).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBodyBenchmark {
+    private static final String SMALL_BODY = "{\"pair\": \"btcidr\", \"type\": \"buy\", \"price\": 1065000000}";
+    private static final Gson GSON = new Gson();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    @Param({"3", "50"})
+    public int fields;
+
+    private String body;
+
+    @Setup
+    public void setUp() {
+        if (fields <= 3) {
+            body = SMALL_BODY;
+        } else {
+            StringBuilder builder = new StringBuilder("{");
+            for (int i = 0; i < fields; i++) {
+                builder.append(i == 0 ? "" : ", ").append("\"field").append(i).append("\": \"value").append(i).append('"');
+            }
+            body = builder.append('}').toString();
+        }
+    }
+
+    @Benchmark
+    public JsonRequestBody jsonRequestBody() {
+        return JsonRequestBody.of(body);
+    }
+
+    @Benchmark
+    public byte[] mapRoundTrip() {
+        Map<String, Object> map = GSON.fromJson(body, MAP_TYPE);
+        return GSON.toJson(map).getBytes(StandardCharsets.UTF_8);
+    }
+}
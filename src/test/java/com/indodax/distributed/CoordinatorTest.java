@@ -0,0 +1,103 @@
+package com.indodax.distributed;
+
+import com.indodax.performance.ShardPlanner;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoordinatorTest {
+
+    @Test
+    void slowWorkersTakeFewerScenarios() throws Exception {
+        List<ShardPlanner.Unit> units = units(30);
+        ExecutorService threads = Executors.newFixedThreadPool(3);
+        try (Coordinator coordinator = new Coordinator(units, Map.of(), 0, 10_000)) {
+            coordinator.start();
+            Future<Integer> slow = threads.submit(() -> Worker.run("127.0.0.1", coordinator.getPort(), "slow", sleeping(60)));
+            Future<Integer> fast1 = threads.submit(() -> Worker.run("127.0.0.1", coordinator.getPort(), "fast-1", sleeping(5)));
+            Future<Integer> fast2 = threads.submit(() -> Worker.run("127.0.0.1", coordinator.getPort(), "fast-2", sleeping(5)));
+
+            assertTrue(coordinator.awaitCompletion(30, TimeUnit.SECONDS));
+            Map<String, Coordinator.Result> results = coordinator.getResults();
+            assertEquals(30, results.size());
+            assertTrue(results.values().stream().noneMatch(Coordinator.Result::isFailed));
+            assertEquals(30, slow.get(10, TimeUnit.SECONDS) + fast1.get(10, TimeUnit.SECONDS) + fast2.get(10, TimeUnit.SECONDS));
+            assertTrue(slow.get() < fast1.get() && slow.get() < fast2.get(),
+                    "slow " + slow.get() + ", fast " + fast1.get() + " and " + fast2.get());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void requeuesTheScenarioOfALostWorker() throws Exception {
+        List<ShardPlanner.Unit> units = units(5);
+        ExecutorService threads = Executors.newFixedThreadPool(1);
+        try (Coordinator coordinator = new Coordinator(units, Map.of(), 0, 10_000)) {
+            coordinator.start();
+            // takes a scenario and dies without answering
+            try (Socket socket = new Socket("127.0.0.1", coordinator.getPort())) {
+                WorkMessage.hello("crashing").writeTo(new OutputStreamWriter(socket.getOutputStream()));
+                socket.getInputStream().read();
+            }
+            Future<Integer> survivor = threads.submit(() -> Worker.run("127.0.0.1", coordinator.getPort(), "survivor", sleeping(1)));
+
+            assertTrue(coordinator.awaitCompletion(30, TimeUnit.SECONDS));
+            assertEquals(5, survivor.get(10, TimeUnit.SECONDS));
+            assertTrue(coordinator.getResults().values().stream().allMatch(result -> "survivor".equals(result.worker())));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    void reportsFailuresAndExecutorErrors() throws Exception {
+        List<ShardPlanner.Unit> units = units(3);
+        try (Coordinator coordinator = new Coordinator(units, Map.of(), 0, 10_000)) {
+            coordinator.start();
+            Worker.run("127.0.0.1", coordinator.getPort(), "worker", (feature, line) -> {
+                if (line == 2) {
+                    throw new IllegalStateException("boom");
+                }
+                return new Worker.Outcome(line == 1 ? Coordinator.Result.FAILED : Coordinator.Result.PASSED, null);
+            });
+
+            assertTrue(coordinator.awaitCompletion(1, TimeUnit.SECONDS));
+            Map<String, Coordinator.Result> results = coordinator.getResults();
+            assertTrue(results.get("a.feature:1").isFailed());
+            assertTrue(results.get("a.feature:2").error().contains("boom"));
+            assertEquals(Coordinator.Result.PASSED, results.get("a.feature:3").status());
+        }
+    }
+
+    private static Worker.ScenarioExecutor sleeping(long millis) {
+        return (feature, line) -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Worker.Outcome(Coordinator.Result.PASSED, null);
+        };
+    }
+
+    private static List<ShardPlanner.Unit> units(int count) {
+        List<ShardPlanner.Unit> units = new ArrayList<>();
+        for (int line = 1; line <= count; line++) {
+            units.add(new ShardPlanner.Unit(Paths.get("a.feature"), line, "a.feature:" + line));
+        }
+        return units;
+    }
+}
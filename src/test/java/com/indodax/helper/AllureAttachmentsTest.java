@@ -0,0 +1,117 @@
+package com.indodax.helper;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllureAttachmentsTest {
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private final Map<String, TestResult> results = new ConcurrentHashMap<>();
+    private AllureLifecycle previous;
+    private AllureLifecycle lifecycle;
+    private String uuid;
+
+    @BeforeEach
+    void startTestCase() {
+        previous = Allure.getLifecycle();
+        lifecycle = new AllureLifecycle(new InMemoryWriter());
+        Allure.setLifecycle(lifecycle);
+        uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("attachments"));
+        lifecycle.startTestCase(uuid);
+    }
+
+    @AfterEach
+    void restoreLifecycle() {
+        Allure.setLifecycle(previous);
+    }
+
+    @Test
+    void identicalPayloadsAreWrittenOnce() {
+        String body = "{\"server_time\":" + System.nanoTime() + "}";
+        AllureAttachments.attach("Response Body", "application/json", ".json", body);
+        AllureAttachments.attach("Response Body", "application/json", ".json", body);
+
+        List<Attachment> attachments = finish();
+        assertEquals(2, attachments.size());
+        assertEquals(attachments.get(0).getSource(), attachments.get(1).getSource());
+        assertEquals(1, files.size());
+        assertEquals(body, new String(files.get(attachments.get(0).getSource()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void largePayloadsAreGzipped() throws IOException {
+        String body = "x".repeat(200 * 1024) + System.nanoTime();
+        AllureAttachments.attach("Large Body", body);
+
+        Attachment attachment = finish().get(0);
+        assertEquals("application/gzip", attachment.getType());
+        assertTrue(attachment.getSource().endsWith(".txt.gz"));
+        byte[] written = files.get(attachment.getSource());
+        assertTrue(written.length < body.length());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(written))) {
+            assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void oversizedPayloadsAreTruncated() throws IOException {
+        byte[] body = new byte[2 * 1024 * 1024];
+        body[0] = (byte) System.nanoTime();
+        AllureAttachments.attach("Huge Body", "application/octet-stream", ".bin", body);
+
+        Attachment attachment = finish().get(0);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(files.get(attachment.getSource())))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+            assertTrue(content.endsWith("[truncated 1048576 bytes]"), content.substring(content.length() - 40));
+        }
+    }
+
+    private List<Attachment> finish() {
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+        AllureAttachments.flush(10, TimeUnit.SECONDS);
+        return results.get(uuid).getAttachments();
+    }
+
+    private class InMemoryWriter implements AllureResultsWriter {
+        @Override
+        public void write(TestResult testResult) {
+            results.put(testResult.getUuid(), testResult);
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try {
+                files.put(source, attachment.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.indodax.helper;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingExcelReaderTest {
+    private static final String TEST_DATA = "src/test/resources/testdata/indodax_api_testdata.xlsx";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ServerTime", "Ticker", "TradingPairs", "PriceIncrements"})
+    void matchesWorkbookReader(String sheetName) {
+        try (ExcelReader dom = new ExcelReader(TEST_DATA);
+             StreamingExcelReader streaming = new StreamingExcelReader(TEST_DATA)) {
+            dom.selectSheet(sheetName);
+            streaming.selectSheet(sheetName);
+            assertEquals(dom.getAllDataAsMap(), streaming.getAllDataAsMap());
+        }
+    }
+
+    @Test
+    void findsRowsInLargeSheetWithoutLoadingIt(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("large.xlsx");
+        int rows = 20_000;
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Data");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Test ID");
+            header.createCell(1).setCellValue("Pair");
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("TC-" + i);
+                row.createCell(1).setCellValue("pair" + i);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+
+        try (StreamingExcelReader reader = new StreamingExcelReader(file.toString())) {
+            reader.selectSheet("Data");
+            assertEquals("pair" + rows, reader.getTestDataByName("TC-" + rows).get("Pair"));
+            assertThrows(RuntimeException.class, () -> reader.getTestDataByName("missing"));
+
+            AtomicInteger visited = new AtomicInteger();
+            reader.forEachRow(row -> visited.incrementAndGet() < 10);
+            assertEquals(10, visited.get());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.indodax.helper;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestDataCacheTest {
+
+    @Test
+    void parsesSheetOnceAndSharesItBetweenThreads(@TempDir Path dir) throws Exception {
+        Path file = writeWorkbook(dir.resolve("data.xlsx"), "btcidr");
+        String path = file.toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<TestDataIndex>> lookups = IntStream.range(0, 32)
+                    .mapToObj(i -> (Callable<TestDataIndex>) () -> TestDataCache.getSheet(path, "Ticker"))
+                    .collect(Collectors.toList());
+            TestDataIndex first = TestDataCache.getSheet(path, "Ticker");
+            for (Future<TestDataIndex> result : executor.invokeAll(lookups)) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals("btcidr", TestDataCache.getTestDataByName(path, "Ticker", "TC-1").get("Pair"));
+        assertEquals("btcidr", TestDataCache.getTestDataByName(path, "Ticker", "Get BTC ticker").get("Pair"));
+        assertThrows(RuntimeException.class, () -> TestDataCache.getTestDataByName(path, "Ticker", "TC-404"));
+    }
+
+    @Test
+    void reloadsWhenFileChanges(@TempDir Path dir) throws Exception {
+        Path file = writeWorkbook(dir.resolve("data.xlsx"), "btcidr");
+        assertEquals("btcidr", TestDataCache.getTestDataByName(file.toString(), "Ticker", "TC-1").get("Pair"));
+
+        FileTime previous = Files.getLastModifiedTime(file);
+        writeWorkbook(file, "ethidr");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(previous.toMillis() + 1000));
+
+        assertEquals("ethidr", TestDataCache.getTestDataByName(file.toString(), "Ticker", "TC-1").get("Pair"));
+    }
+
+    private static Path writeWorkbook(Path file, String pair) throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Ticker");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Test ID");
+            header.createCell(1).setCellValue("Test Case");
+            header.createCell(2).setCellValue("Pair");
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("TC-1");
+            row.createCell(1).setCellValue("Get BTC ticker");
+            row.createCell(2).setCellValue(pair);
+            workbook.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,100 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.config.ApiConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApiMetricsTest {
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        ApiMetrics.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            int status = exchange.getRequestURI().getPath().endsWith("/missing") ? 404 : 200;
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void recordsRequestsPerEndpointTemplateAndStatusClass(@TempDir Path dir) throws Exception {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+        client.getTicker("btcidr");
+        client.sendGet("/ticker/ethidr");
+        client.sendGet("/ticker/missing");
+        client.getServerTime();
+
+        List<ApiMetrics.SeriesSnapshot> snapshots = ApiMetrics.snapshot();
+        assertEquals(3, snapshots.size());
+        ApiMetrics.SeriesSnapshot ticker = find(snapshots, "/ticker/{pair}", "2xx");
+        assertEquals(2, ticker.count());
+        assertEquals(1, find(snapshots, "/ticker/{pair}", "4xx").count());
+        assertEquals(1, find(snapshots, "/server_time", "2xx").count());
+        assertTrue(ticker.percentileMillis(50) <= ticker.maxMillis());
+
+        ApiMetrics.export(dir);
+        String prometheus = Files.readString(dir.resolve("metrics.prom"));
+        assertTrue(prometheus.contains("indodax_api_requests_total{method=\"GET\",endpoint=\"/ticker/{pair}\","
+                + "status=\"2xx\",env=\"" + ApiConfig.getCurrentEnvironment() + "\"} 2"), prometheus);
+        assertTrue(prometheus.contains("indodax_api_request_duration_seconds_bucket{method=\"GET\","
+                + "endpoint=\"/ticker/{pair}\",status=\"2xx\",env=\"" + ApiConfig.getCurrentEnvironment() + "\",le=\"+Inf\"} 2"), prometheus);
+        assertTrue(Files.readString(dir.resolve("metrics.json")).contains("\"endpoint\": \"/server_time\""));
+    }
+
+    @Test
+    void mergesExportedMetricsOfSeveralShards(@TempDir Path dir) throws Exception {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+        client.getTicker("btcidr");
+        client.getServerTime();
+        ApiMetrics.export(dir.resolve("shard-1-of-2"));
+        ApiMetrics.reset();
+        client.getTicker("ethidr");
+        client.getTicker("usdtidr");
+        ApiMetrics.export(dir.resolve("shard-2-of-2"));
+        ApiMetrics.SeriesSnapshot shardTwo = find(ApiMetrics.snapshot(), "/ticker/{pair}", "2xx");
+
+        ApiMetrics.reset();
+        ApiMetrics.importJson(dir.resolve("shard-1-of-2").resolve("metrics.json"));
+        ApiMetrics.importJson(dir.resolve("shard-2-of-2").resolve("metrics.json"));
+
+        List<ApiMetrics.SeriesSnapshot> merged = ApiMetrics.snapshot();
+        ApiMetrics.SeriesSnapshot ticker = find(merged, "/ticker/{pair}", "2xx");
+        assertEquals(3, ticker.count());
+        assertEquals(1, find(merged, "/server_time", "2xx").count());
+        assertTrue(ticker.maxMillis() >= shardTwo.maxMillis() - 0.001);
+        assertEquals(3, Arrays.stream(ticker.bucketCounts()).sum());
+    }
+
+    private static ApiMetrics.SeriesSnapshot find(List<ApiMetrics.SeriesSnapshot> snapshots, String endpoint, String status) {
+        return snapshots.stream()
+                .filter(s -> s.endpoint().equals(endpoint) && s.status().equals(status))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No series for " + endpoint + " " + status));
+    }
+}
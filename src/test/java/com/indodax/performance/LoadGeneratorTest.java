@@ -0,0 +1,96 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.config.ApiConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadGeneratorTest {
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/server_time", exchange -> {
+            // every 10th request fails
+            int status = hits.incrementAndGet() % 10 == 0 ? 500 : 200;
+            byte[] body = "{\"timezone\":\"UTC\",\"server_time\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsRequestBudgetAndReportsErrorsAndPercentiles() {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+
+        LoadTestResult result = new LoadGenerator(client).run("/server_time", 200, 4, Duration.ofSeconds(30));
+
+        assertEquals(200, result.getRequests());
+        assertEquals(200, hits.get());
+        assertEquals(20, result.getErrors());
+        assertEquals(10.0, result.getErrorRatePercent(), 0.001);
+        assertEquals(200, result.getLatencyHistogram().getTotalCount());
+        assertTrue(result.getLatencyMillis(50) <= result.getLatencyMillis(99.9));
+        assertTrue(result.getThroughput() > 0);
+    }
+
+    @Test
+    void samplingDiscardsWarmUpCalls() {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+
+        LoadTestResult sequential = new LoadGenerator(client).sample("/server_time", 5, 50, 1);
+
+        assertEquals(55, hits.get());
+        assertEquals(50, sequential.getRequests());
+        assertEquals(50, sequential.getLatencyHistogram().getTotalCount());
+        // hits 10, 20, 30, 40 and 50 fail; none of them is a warm-up call
+        assertEquals(5, sequential.getErrors());
+
+        LoadTestResult concurrent = new LoadGenerator(client).sample("/server_time", 0, 40, 4);
+        assertEquals(95, hits.get());
+        assertEquals(40, concurrent.getRequests());
+    }
+
+    @Test
+    void stopsAtDeadline() {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+
+        LoadTestResult result = new LoadGenerator(client).run("/server_time", Integer.MAX_VALUE, 2, Duration.ofMillis(500));
+
+        assertTrue(result.getRequests() > 0);
+        assertTrue(result.getDurationSeconds() < 5);
+    }
+
+    @Test
+    void rejectsMoreWorkersThanPooledConnectionsPerRoute() {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(client)
+                .run("/server_time", 10, ApiConfig.HTTP_POOL_MAX_PER_ROUTE + 1, Duration.ofSeconds(5)));
+        assertEquals(0, hits.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.indodax.performance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    @Test
+    void evictsTheOldestValueWhenFull() {
+        LongHashSet set = new LongHashSet(3);
+        assertTrue(set.add(10));
+        assertTrue(set.add(11));
+        assertFalse(set.add(10));
+        assertTrue(set.add(12));
+        assertEquals(10, set.oldest());
+
+        assertTrue(set.add(13));
+
+        assertEquals(3, set.size());
+        assertEquals(1, set.getEvictions());
+        assertEquals(11, set.oldest());
+        assertFalse(set.contains(10));
+        assertTrue(set.contains(11) && set.contains(12) && set.contains(13));
+    }
+
+    @Test
+    void behavesLikeABoundedFifoSet() {
+        int capacity = 100;
+        LongHashSet set = new LongHashSet(capacity);
+        Set<Long> expected = new HashSet<>();
+        ArrayDeque<Long> order = new ArrayDeque<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // a small key range forces collisions, repeats and long probe chains
+            long value = random.nextInt(400) - 200;
+            boolean added = set.add(value);
+            assertEquals(!expected.contains(value), added, "add " + value);
+            if (added) {
+                if (expected.size() == capacity) {
+                    expected.remove(order.removeFirst());
+                }
+                expected.add(value);
+                order.addLast(value);
+            }
+            long probe = random.nextInt(400) - 200;
+            assertEquals(expected.contains(probe), set.contains(probe), "contains " + probe);
+        }
+        assertEquals(expected.size(), set.size());
+        assertEquals((long) order.peekFirst(), set.oldest());
+    }
+
+    @Test
+    void reservesMinValue() {
+        LongHashSet set = new LongHashSet(1);
+        assertEquals(Long.MIN_VALUE, set.oldest());
+        assertThrows(IllegalArgumentException.class, () -> set.add(Long.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new LongHashSet(0));
+    }
+}
@@ -0,0 +1,42 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.indodax.api.replay.RecordingStore;
+import com.indodax.api.replay.ReplayServer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderBookSweepTest {
+
+    @Test
+    void pollsEveryPairForEachRound() throws Exception {
+        RecordingStore store = RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json"));
+        try (ReplayServer server = new ReplayServer(store, 0, 0, 0, 0)) {
+            OrderBookSweep sweep = new OrderBookSweep(new IndodaxApiClient(server.getBaseUrl()), 1);
+
+            SweepResult result = sweep.run(4, 5);
+
+            assertEquals(3, result.getPairs());
+            assertTrue(result.getFailures().isEmpty(), result.report());
+            assertEquals(15, sweep.getBooksChecked());
+            assertEquals(15 * 20, sweep.getLevelsParsed());
+        }
+    }
+
+    @Test
+    void reportsBrokenBooksOncePerPair() throws Exception {
+        RecordingStore store = RecordingStore.load(Paths.get("src/test/resources/recordings/indodax.json"));
+        store.put("GET", "/depth/ethidr", new RecordingStore.Recording(200, "application/json",
+                "{\"buy\": [[41000000, \"1\"]], \"sell\": [[40980000, \"1\"]]}"));
+        try (ReplayServer server = new ReplayServer(store, 0, 0, 0, 0)) {
+            SweepResult result = new OrderBookSweep(new IndodaxApiClient(server.getBaseUrl()), 1).run(2, 3);
+
+            assertEquals(1, result.getFailures().size(), result.report());
+            assertTrue(result.getFailures().get("ethidr").startsWith("crossed book"), result.report());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PairTickerSweepTest {
+    private static final int PAIRS = 120;
+
+    private HttpServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(32));
+        server.createContext("/pairs", exchange -> {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < PAIRS; i++) {
+                body.append(i == 0 ? "" : ",").append("{\"id\":\"coin").append(i).append("idr\"}");
+            }
+            respond(exchange, 200, body.append(']').toString());
+        });
+        server.createContext("/ticker/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+                String pair = exchange.getRequestURI().getPath().substring("/ticker/".length());
+                if (pair.equals("coin7idr")) {
+                    respond(exchange, 200, "{\"ticker\":{\"high\":\"90\",\"low\":\"100\",\"last\":\"95\",\"buy\":\"94\",\"sell\":\"96\"}}");
+                } else if (pair.equals("coin42idr")) {
+                    respond(exchange, 200, "{\"ticker\":{\"high\":\"100\",\"low\":\"90\",\"last\":\"95\"}}");
+                } else if (pair.equals("coin99idr")) {
+                    respond(exchange, 500, "{\"error\":\"boom\"}");
+                } else {
+                    respond(exchange, 200, "{\"ticker\":{\"high\":\"100\",\"low\":\"90\",\"last\":\"95\",\"buy\":\"94\",\"sell\":\"96\"}}");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void checksEveryPairAndCollectsAllFailures() {
+        IndodaxApiClient client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+        PerfHistory.reset();
+
+        SweepResult result = new PairTickerSweep(client).run(8);
+
+        assertEquals(PAIRS, result.getPairs());
+        assertEquals(3, result.getFailures().size(), result.report());
+        assertTrue(result.getFailures().get("coin7idr").startsWith("high 90 < low 100"));
+        assertEquals("missing fields [buy, sell]", result.getFailures().get("coin42idr"));
+        assertEquals("status 500", result.getFailures().get("coin99idr"));
+        assertTrue(maxInFlight.get() <= 8, "at most 8 tickers in flight, saw " + maxInFlight.get());
+        assertEquals(1, client.getResponseCount(), "only the pairs request replaces the last response");
+        assertEquals(List.of("GET /pairs"), List.copyOf(PerfHistory.snapshot().keySet()),
+                "sweep tickers stay out of the latency baseline");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.indodax.performance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfHistoryTest {
+    private static final String TICKER = "GET /ticker/{pair}";
+    private static final String SUMMARIES = "GET /summaries";
+
+    @Test
+    void mannWhitneySeparatesShiftedSamplesFromNoise() {
+        Random random = new Random(42);
+        double[] baseline = latencies(random, 100, 100);
+        double[] same = latencies(random, 100, 100);
+        double[] doubled = latencies(random, 100, 200);
+
+        assertTrue(PerfHistory.mannWhitneyPValue(doubled, baseline) < 0.001);
+        assertTrue(PerfHistory.mannWhitneyPValue(same, baseline) > 0.01);
+        // one-sided: getting faster is not a regression
+        assertTrue(PerfHistory.mannWhitneyPValue(baseline, doubled) > 0.99);
+        assertEquals(1.0, PerfHistory.mannWhitneyPValue(new double[]{5, 5, 5}, new double[]{5, 5, 5}));
+    }
+
+    @Test
+    void flagsOnlySeriesThatSlowedDownBeyondTheNoiseThreshold(@TempDir Path dir) {
+        Random random = new Random(7);
+        Path history = dir.resolve(PerfHistory.HISTORY_FILE);
+        for (int run = 0; run < 3; run++) {
+            PerfHistory.append(history, "production", Map.of(TICKER, latencies(random, 50, 100), SUMMARIES, latencies(random, 50, 300)));
+        }
+        // other environments are not part of the baseline
+        PerfHistory.append(history, "staging", Map.of(TICKER, latencies(random, 50, 1000)));
+
+        List<Map<String, double[]>> baseline = PerfHistory.loadBaseline(history, "production", 5);
+        assertEquals(3, baseline.size());
+        assertEquals(50, baseline.get(0).get(TICKER).length);
+
+        List<PerfHistory.Regression> regressions = PerfHistory.compare(
+                Map.of(TICKER, latencies(random, 50, 200), SUMMARIES, latencies(random, 50, 310)), baseline);
+
+        assertEquals(1, regressions.size());
+        PerfHistory.Regression ticker = regressions.get(0);
+        assertEquals(TICKER, ticker.series());
+        assertEquals(150, ticker.baselineSamples());
+        assertTrue(ticker.p50Ms() > ticker.baselineP50Ms() * 1.5, ticker.toString());
+    }
+
+    @Test
+    void usesOnlyTheLastRunsAsBaselineAndSkipsTornLines(@TempDir Path dir) throws Exception {
+        Random random = new Random(3);
+        Path history = dir.resolve(PerfHistory.HISTORY_FILE);
+        PerfHistory.append(history, "production", Map.of(TICKER, latencies(random, 20, 100)));
+        Files.writeString(history, "{\"timestamp\":1,\"environ", StandardOpenOption.APPEND);
+        Files.writeString(history, "\n", StandardOpenOption.APPEND);
+        PerfHistory.append(history, "production", Map.of(TICKER, latencies(random, 20, 200)));
+        PerfHistory.append(history, "production", Map.of(TICKER, latencies(random, 20, 200)));
+
+        List<Map<String, double[]>> baseline = PerfHistory.loadBaseline(history, "production", 2);
+
+        assertEquals(2, baseline.size());
+        assertTrue(PerfHistory.compare(Map.of(TICKER, latencies(random, 20, 200)), baseline).isEmpty());
+    }
+
+    @Test
+    void skipsSeriesWithTooFewSamples() {
+        Random random = new Random(11);
+        List<Map<String, double[]>> baseline = List.of(Map.of(TICKER, latencies(random, 5, 100)));
+
+        assertTrue(PerfHistory.compare(Map.of(TICKER, latencies(random, 50, 1000)), baseline).isEmpty());
+    }
+
+    /**
+     * Latencies around the given median with +-10% jitter
+     */
+    private static double[] latencies(Random random, int count, double medianMs) {
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = medianMs * (0.9 + 0.2 * random.nextDouble());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,113 @@
+package com.indodax.performance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardPlannerTest {
+
+    @Test
+    void findsScenariosAndExampleRowsButNotDocStringsOrHeaders(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("01_sample.feature"), String.join("\n",
+                "@api",
+                "Feature: Sample",
+                "",
+                "  Scenario: Plain",                        // 4
+                "    When I send POST request to \"/x\" with body:",
+                "      \"\"\"",
+                "      Scenario: not a scenario",
+                "      \"\"\"",
+                "",
+                "  # Scenario: commented out",
+                "  Scenario Outline: Ticker for <pair>",     // 11
+                "    When I send GET request to ticker endpoint with pair \"<pair>\"",
+                "",
+                "    Examples:",
+                "      | pair   |",
+                "      | btcidr |",                          // 16
+                "      # skipped row comment",
+                "      | ethidr |",                          // 18
+                "",
+                "  Scenario: Last"));                        // 20
+
+        List<ShardPlanner.Unit> units = ShardPlanner.discover(dir);
+
+        assertEquals(List.of("01_sample.feature:4", "01_sample.feature:16", "01_sample.feature:18", "01_sample.feature:20"),
+                units.stream().map(ShardPlanner.Unit::id).toList());
+    }
+
+    @Test
+    void balancesShardsLongestFirst() {
+        Map<String, Double> durations = new HashMap<>();
+        List<ShardPlanner.Unit> units = new ArrayList<>();
+        double[] millis = {7000, 6000, 5000, 4000, 3000, 2000, 2000, 1000};
+        for (int i = 0; i < millis.length; i++) {
+            units.add(unit("a.feature", i + 1));
+            durations.put("a.feature:" + (i + 1), millis[i]);
+        }
+
+        List<List<ShardPlanner.Unit>> plan = ShardPlanner.plan(units, durations, 3);
+        double[] expected = ShardPlanner.expectedMillis(plan, durations);
+
+        assertEquals(3, plan.size());
+        assertEquals(units.size(), plan.stream().mapToInt(List::size).sum());
+        // 30 s of work in 3 shards: LPT gets within one scenario of a perfect split
+        for (double shard : expected) {
+            assertTrue(shard >= 9000 && shard <= 11000, "Unbalanced shards " + Arrays.toString(expected));
+        }
+        assertEquals(plan, ShardPlanner.plan(units, durations, 3), "Every shard must compute the same plan");
+    }
+
+    @Test
+    void treatsUnknownScenariosAsTheMedianDuration() {
+        List<ShardPlanner.Unit> units = List.of(unit("a.feature", 1), unit("a.feature", 2), unit("a.feature", 3),
+                unit("b.feature", 1));
+        Map<String, Double> durations = Map.of("a.feature:1", 100.0, "a.feature:2", 200.0, "a.feature:3", 9000.0);
+
+        double[] expected = ShardPlanner.expectedMillis(ShardPlanner.plan(units, durations, 2), durations);
+
+        assertEquals(9000, expected[0]);
+        assertEquals(500, expected[1]);
+    }
+
+    @Test
+    void emptyShardsWhenThereAreMoreShardsThanScenarios() {
+        List<List<ShardPlanner.Unit>> plan = ShardPlanner.plan(List.of(unit("a.feature", 1)), Map.of(), 3);
+
+        assertEquals(1, plan.get(0).size());
+        assertTrue(plan.get(1).isEmpty() && plan.get(2).isEmpty());
+    }
+
+    @Test
+    void formatsCucumberFeatureSelectorsPerFile() {
+        String features = ShardPlanner.cucumberFeatures(List.of(unit("features/a.feature", 4),
+                unit("features/a.feature", 16), unit("features/b.feature", 8)));
+
+        assertEquals("features/a.feature:4:16,features/b.feature:8", features);
+    }
+
+    @Test
+    void parsesShardSpecs() {
+        assertEquals(new ShardPlanner.Shard(2, 4), ShardPlanner.Shard.parse(" 2/4 "));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.Shard.parse("0/4"));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.Shard.parse("5/4"));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.Shard.parse("two"));
+    }
+
+    private static ShardPlanner.Unit unit(String feature, int line) {
+        Path path = Paths.get(feature);
+        return new ShardPlanner.Unit(path, line, path.getFileName() + ":" + line);
+    }
+}
@@ -0,0 +1,126 @@
+package com.indodax.performance;
+
+import com.indodax.api.client.IndodaxApiClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradeHistoryPollerTest {
+    private static final int PAGE = 20;
+
+    private HttpServer server;
+    private IndodaxApiClient client;
+    private final Map<String, List<long[]>> trades = new ConcurrentHashMap<>();
+    private volatile boolean reorder;
+    private volatile long lateTradeId;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/trades/", exchange -> {
+            String pair = exchange.getRequestURI().getPath().substring("/trades/".length());
+            respond(exchange, nextPage(pair));
+        });
+        server.createContext("/ticker/", exchange ->
+                respond(exchange, "{\"ticker\":{\"high\":\"110\",\"low\":\"100\",\"buy\":\"104\",\"sell\":\"105\"}}"));
+        server.start();
+        client = new IndodaxApiClient("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void ingestsOnlyNewTradesWithBoundedMemory() {
+        // ids per pair smaller than a page: old ids are evicted without raising false late-trade violations
+        TradeHistoryPoller.Result result = new TradeHistoryPoller(client, 8)
+                .runRounds(List.of("btcidr", "ethidr"), 6, 10, 2);
+
+        assertEquals(0, result.getViolationCount(), result.report());
+        assertEquals(0, result.getFailedPolls());
+        assertEquals(2 * PAGE, result.getHistoryTrades());
+        assertEquals(12, result.getPolls());
+        // every poll after the first adds 3 trades per pair
+        assertEquals(2 * 5 * 3, result.getTrades(), result.summary());
+        assertEquals(result.getTrades(), result.getVisibilitySamples());
+        assertTrue(result.getTradesPerSecond() > 0);
+        assertTrue(result.getVisibilityMillis(100) < 5_000, result.summary());
+    }
+
+    @Test
+    void reportsOrderingLateTradesAndPricesOutsideTheTickerRange() {
+        // from the second poll on: an odd id between two already served ids, two swapped trades,
+        // and new trades priced above the ticker high
+        lateTradeId = 1_000_005;
+        reorder = true;
+
+        TradeHistoryPoller.Result result = new TradeHistoryPoller(client).runRounds(List.of("btcidr"), 4, 0, 1);
+
+        String report = result.report();
+        List<String> violations = result.getViolations().get("btcidr");
+        assertTrue(violations.stream().anyMatch(v -> v.startsWith("ids not descending in response")), report);
+        assertTrue(violations.stream().anyMatch(v -> v.contains("appeared after newer trade")), report);
+        assertTrue(violations.stream().anyMatch(v -> v.contains("above ticker high 110")), report);
+        assertTrue(violations.size() <= 10, report);
+        assertTrue(result.getViolationCount() >= violations.size(), report);
+    }
+
+    /**
+     * Each call adds three trades and returns the newest PAGE, newest first
+     */
+    private String nextPage(String pair) {
+        List<long[]> list = trades.computeIfAbsent(pair, p -> new ArrayList<>());
+        synchronized (list) {
+            long now = System.currentTimeMillis() / 1000;
+            boolean broken = list.size() > PAGE;
+            int adds = list.isEmpty() ? PAGE : 3;
+            for (int i = 0; i < adds; i++) {
+                long price = lateTradeId != 0 && broken ? 120 : 100 + list.size() % 10;
+                list.add(new long[]{1_000_000 + list.size() * 2L, now, price});
+            }
+            // oldest first until it is written out
+            List<long[]> page = new ArrayList<>(list.subList(Math.max(0, list.size() - PAGE), list.size()));
+            if (lateTradeId != 0 && list.size() > PAGE) {
+                page.add(0, new long[]{lateTradeId, now, 105});
+            }
+            if (reorder && broken) {
+                long[] first = page.get(0);
+                page.set(0, page.get(1));
+                page.set(1, first);
+            }
+            StringBuilder body = new StringBuilder("[");
+            for (int i = page.size() - 1; i >= 0; i--) {
+                long[] trade = page.get(i);
+                body.append(body.length() == 1 ? "" : ",")
+                        .append("{\"date\":\"").append(trade[1]).append("\",\"price\":\"").append(trade[2])
+                        .append("\",\"amount\":\"0.001\",\"tid\":\"").append(trade[0]).append("\",\"type\":\"buy\"}");
+            }
+            return body.append(']').toString();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
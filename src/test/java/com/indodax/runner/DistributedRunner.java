@@ -0,0 +1,114 @@
+package com.indodax.runner;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.distributed.Coordinator;
+import com.indodax.performance.ScenarioDurations;
+import com.indodax.performance.ShardMerge;
+import com.indodax.performance.ShardPlanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the scenarios on several worker JVMs on this machine, balanced while
+ * the run goes rather than planned up front:
+ * mvn -Pdistributed verify -Dapi.distributed.workers=4
+ * Starts a Coordinator on a loopback port, spawns the workers with this JVM's
+ * classpath and options, waits for every scenario, merges the workers'
+ * metrics (see ShardMerge) and exits non-zero if a scenario failed.
+ * More workers can join from other shells with
+ * DistributedWorker 127.0.0.1 <port> when -Dapi.distributed.port is fixed.
+ */
+public class DistributedRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DistributedRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        List<ShardPlanner.Unit> units = ShardPlanner.discover(Paths.get(ApiConfig.FEATURES_DIR));
+        Map<String, Double> durations = ScenarioDurations.read(Paths.get(ApiConfig.SCENARIO_DURATIONS_FILE));
+        Path metricsRoot = Paths.get(ApiConfig.METRICS_DIR);
+        List<Process> workers = new ArrayList<>();
+        Map<String, Coordinator.Result> results;
+
+        long start = System.nanoTime();
+        try (Coordinator coordinator = new Coordinator(units, durations, ApiConfig.DISTRIBUTED_PORT,
+                ApiConfig.DISTRIBUTED_SCENARIO_TIMEOUT_MS)) {
+            coordinator.start();
+            for (int i = 1; i <= ApiConfig.DISTRIBUTED_WORKERS; i++) {
+                workers.add(startWorker(i, coordinator.getPort(), metricsRoot));
+            }
+            while (!coordinator.awaitCompletion(1, TimeUnit.SECONDS)) {
+                if (workers.stream().noneMatch(Process::isAlive)) {
+                    logger.error("Every worker exited before the run finished, see target/worker-*.log");
+                    break;
+                }
+            }
+            results = coordinator.getResults();
+        }
+        for (Process worker : workers) {
+            if (!worker.waitFor(2, TimeUnit.MINUTES)) {
+                worker.destroy();
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        List<Path> workerDirectories = new ArrayList<>();
+        for (int i = 1; i <= workers.size(); i++) {
+            Path directory = metricsRoot.resolve("worker-" + i);
+            if (Files.isDirectory(directory)) {
+                workerDirectories.add(directory);
+            }
+        }
+        if (!workerDirectories.isEmpty()) {
+            ShardMerge.merge(workerDirectories, metricsRoot, Paths.get(ApiConfig.SCENARIO_DURATIONS_FILE));
+        }
+
+        long failed = results.values().stream().filter(Coordinator.Result::isFailed).count();
+        results.values().stream()
+                .filter(Coordinator.Result::isFailed)
+                .forEach(result -> logger.error("FAILED {} on {}: {}", result.id(), result.worker(), result.error()));
+        double scenarioMs = results.values().stream().mapToDouble(Coordinator.Result::millis).sum();
+        logger.info("{} of {} scenarios done on {} workers in {} s ({} s of scenario time), {} failed",
+                results.size(), units.size(), workers.size(), String.format("%.1f", elapsedMs / 1000.0),
+                String.format("%.1f", scenarioMs / 1000), failed);
+        System.exit(failed > 0 || results.size() < units.size() ? 1 : 0);
+    }
+
+    /**
+     * Start a worker JVM with this JVM's options, its own metrics directory
+     * and its own replay server port
+     */
+    private static Process startWorker(int index, int port, Path metricsRoot) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.startsWith("-Dapi.metrics.dir=") && !argument.startsWith("-Dapi.local.port=")
+                    && !argument.startsWith("-agentlib:")) {
+                command.add(argument);
+            }
+        }
+        command.add("-Dapi.metrics.dir=" + metricsRoot.resolve("worker-" + index));
+        command.add("-Dapi.local.port=" + (ApiConfig.LOCAL_PORT + index));
+        command.add("-classpath");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DistributedWorker.class.getName());
+        command.add("127.0.0.1");
+        command.add(String.valueOf(port));
+        command.add("worker-" + index);
+
+        Path log = Paths.get("target", "worker-" + index + ".log");
+        Files.createDirectories(log.getParent());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+}
@@ -0,0 +1,81 @@
+package com.indodax.runner;
+
+import com.indodax.distributed.Coordinator;
+import com.indodax.distributed.Worker;
+import com.indodax.steps.Hooks;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.FilePosition;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.cucumber.junit.platform.engine.Constants.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectFile;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Worker JVM of a distributed run, started by DistributedRunner or by hand:
+ * DistributedWorker <host> <port> [name]
+ * Each scenario the coordinator hands out runs as its own Cucumber execution
+ * with the com.indodax.steps glue, sequentially, in this one warm JVM.
+ */
+public class DistributedWorker {
+    private static final Logger logger = LoggerFactory.getLogger(DistributedWorker.class);
+
+    public static void main(String[] args) throws Exception {
+        String name = args.length > 2 ? args[2] : "worker-" + ProcessHandle.current().pid();
+        Hooks.runAsWorker();
+        Launcher launcher = LauncherFactory.create();
+        try {
+            int scenarios = Worker.run(args[0], Integer.parseInt(args[1]), name,
+                    (feature, line) -> runScenario(launcher, feature, line));
+            logger.info("Worker {} ran {} scenarios", name, scenarios);
+        } finally {
+            Hooks.finishRun();
+        }
+        // background pools (logging, attachments) must not keep the worker alive
+        System.exit(0);
+    }
+
+    static Worker.Outcome runScenario(Launcher launcher, Path feature, int line) {
+        LauncherDiscoveryRequest discoveryRequest = request()
+                .selectors(selectFile(feature.toFile(), FilePosition.from(line)))
+                .filters(includeEngines("cucumber"))
+                .configurationParameter(GLUE_PROPERTY_NAME, "com.indodax.steps")
+                .configurationParameter(FILTER_TAGS_PROPERTY_NAME, System.getProperty(FILTER_TAGS_PROPERTY_NAME, "@api"))
+                .configurationParameter(PLUGIN_PROPERTY_NAME, "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm")
+                .configurationParameter(PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, "true")
+                .build();
+
+        List<TestExecutionResult> results = new CopyOnWriteArrayList<>();
+        launcher.execute(discoveryRequest, new TestExecutionListener() {
+            @Override
+            public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+                if (testIdentifier.isTest()) {
+                    results.add(result);
+                }
+            }
+        });
+
+        if (results.isEmpty()) {
+            return new Worker.Outcome(Coordinator.Result.SKIPPED, "Not selected (tags)");
+        }
+        for (TestExecutionResult result : results) {
+            if (result.getStatus() == TestExecutionResult.Status.FAILED) {
+                return new Worker.Outcome(Coordinator.Result.FAILED,
+                        result.getThrowable().map(Throwable::toString).orElse("Failed"));
+            }
+        }
+        boolean aborted = results.stream().anyMatch(result -> result.getStatus() == TestExecutionResult.Status.ABORTED);
+        return new Worker.Outcome(aborted ? Coordinator.Result.SKIPPED : Coordinator.Result.PASSED, null);
+    }
+}
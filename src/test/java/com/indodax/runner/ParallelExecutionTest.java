@@ -0,0 +1,74 @@
+package com.indodax.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.cucumber.junit.platform.engine.Constants.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Runs every feature file sequentially and then in parallel and checks that
+ * each scenario ends with the same status in both runs.
+ * It calls the real API twice, so it only runs on demand:
+ * mvn test -Dtest=ParallelExecutionTest -Dparallel.compare=true
+ */
+@EnabledIfSystemProperty(named = "parallel.compare", matches = "true")
+class ParallelExecutionTest {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelExecutionTest.class);
+
+    @Test
+    void parallelRunMatchesSequentialRun() {
+        long start = System.nanoTime();
+        Map<String, TestExecutionResult.Status> sequential = runFeatures(false);
+        long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Map<String, TestExecutionResult.Status> parallel = runFeatures(true);
+        long parallelMs = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Sequential: {} scenarios in {}ms, parallel: {} scenarios in {}ms (speed-up {}x)",
+                sequential.size(), sequentialMs, parallel.size(), parallelMs,
+                String.format("%.2f", (double) sequentialMs / Math.max(parallelMs, 1)));
+        assertEquals(sequential, parallel, "Parallel run should produce the same scenario results");
+    }
+
+    private Map<String, TestExecutionResult.Status> runFeatures(boolean parallel) {
+        LauncherDiscoveryRequest discoveryRequest = request()
+                .selectors(selectClasspathResource("features"))
+                .filters(includeEngines("cucumber"))
+                .configurationParameter(GLUE_PROPERTY_NAME, "com.indodax.steps")
+                .configurationParameter(FILTER_TAGS_PROPERTY_NAME, "@api")
+                .configurationParameter(PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, "true")
+                .configurationParameter(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, String.valueOf(parallel))
+                .configurationParameter(PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "dynamic")
+                .configurationParameter(PARALLEL_CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME, "1")
+                .build();
+
+        Map<String, TestExecutionResult.Status> results = new ConcurrentHashMap<>();
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(discoveryRequest, new TestExecutionListener() {
+            @Override
+            public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+                if (testIdentifier.isTest()) {
+                    results.put(testIdentifier.getUniqueId(), result.getStatus());
+                }
+            }
+        });
+        return new TreeMap<>(results);
+    }
+}
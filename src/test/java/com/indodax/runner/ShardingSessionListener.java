@@ -0,0 +1,51 @@
+package com.indodax.runner;
+
+import com.indodax.config.ApiConfig;
+import com.indodax.performance.ScenarioDurations;
+import com.indodax.performance.ShardPlanner;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static io.cucumber.junit.platform.engine.Constants.FEATURES_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.FILTER_NAME_PROPERTY_NAME;
+
+/**
+ * Restricts the run to one shard of the scenarios when -Dshard=i/N is set:
+ * mvn surefire:test -Dtest=TestRunner -Dshard=2/4
+ * The shard's scenarios are passed to Cucumber as feature:line selectors
+ * (cucumber.features), before discovery. Registered through
+ * META-INF/services, so TestRunner itself stays unchanged.
+ */
+public class ShardingSessionListener implements LauncherSessionListener {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingSessionListener.class);
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if (ApiConfig.SHARD.isEmpty() || System.getProperty(FEATURES_PROPERTY_NAME) != null) {
+            return;
+        }
+        ShardPlanner.Shard shard = ShardPlanner.Shard.parse(ApiConfig.SHARD);
+        List<ShardPlanner.Unit> units = ShardPlanner.discover(Paths.get(ApiConfig.FEATURES_DIR));
+        Map<String, Double> durations = ScenarioDurations.read(Paths.get(ApiConfig.SCENARIO_DURATIONS_FILE));
+        List<List<ShardPlanner.Unit>> plan = ShardPlanner.plan(units, durations, shard.count());
+        List<ShardPlanner.Unit> mine = plan.get(shard.index() - 1);
+        double[] expected = ShardPlanner.expectedMillis(plan, durations);
+
+        if (mine.isEmpty()) {
+            // more shards than scenarios; a name no scenario has keeps this one empty
+            System.setProperty(FILTER_NAME_PROPERTY_NAME, "^$");
+        } else {
+            System.setProperty(FEATURES_PROPERTY_NAME, ShardPlanner.cucumberFeatures(mine));
+        }
+        logger.info("Shard {}: {} of {} scenarios, expected {} s (longest shard {} s)", shard, mine.size(), units.size(),
+                String.format("%.1f", expected[shard.index() - 1] / 1000),
+                String.format("%.1f", Arrays.stream(expected).max().orElse(0) / 1000));
+    }
+}
@@ -9,6 +9,8 @@ import static io.cucumber.junit.platform.engine.Constants.*;
  * Run with: mvn test
  * Run specific tag: mvn test -Dcucumber.filter.tags="@smoke"
  * Generate Allure report: mvn allure:serve
+ * Scenarios run in parallel, one thread per core. Each scenario gets its own
+ * ApiSteps/IndodaxApiClient instance, so no request state is shared.
  */
 @Suite
 @IncludeEngines("cucumber")
@@ -17,5 +19,8 @@ import static io.cucumber.junit.platform.engine.Constants.*;
 @ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = "com.indodax.steps")
 @ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = "@api")
 @ConfigurationParameter(key = PLUGIN_PUBLISH_QUIET_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, value = "true")
+@ConfigurationParameter(key = PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, value = "dynamic")
+@ConfigurationParameter(key = PARALLEL_CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME, value = "1")
 public class TestRunner {
 }
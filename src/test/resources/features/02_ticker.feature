@@ -22,3 +22,20 @@ Feature: Indodax Ticker API
       | API-TK-001  | btcidr  |
       | API-TK-002  | ethidr  |
       | API-TK-003  | usdtidr |
+
+  @positive @sweep
+  Scenario: Ticker for every trading pair
+    When I validate the ticker of every trading pair with concurrency 16
+    Then every trading pair ticker should be valid
+
+  @positive @bulk
+  Scenario: Every market in the all tickers response
+    When I send GET request to all tickers endpoint
+    Then the response status code should be 200
+    And every market in the response should pass the ticker checks with 50 percent volume tolerance
+
+  @positive @bulk
+  Scenario: Every market in the summaries response
+    When I send GET request to summaries endpoint
+    Then the response status code should be 200
+    And every market in the response should pass the ticker checks with 50 percent volume tolerance
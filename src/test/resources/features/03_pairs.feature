@@ -10,7 +10,7 @@ Feature: Indodax Trading Pairs API
   @positive @smoke
   Scenario: API-PR-001 - Get All Trading Pairs
     Given I get test data for test case "API-PR-001"
-    When I send GET request to pairs endpoint
+    When I send GET request to pairs endpoint bypassing the cache
     Then the response status code should match expected from test data
     And the pairs list should not be empty
     And each pair should have required fields
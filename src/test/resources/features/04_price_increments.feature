@@ -10,7 +10,7 @@ Feature: Indodax Price Increments API
   @positive @smoke
   Scenario: API-PI-001 - Get Price Increments
     Given I get test data for test case "API-PI-001"
-    When I send GET request to price increments endpoint
+    When I send GET request to price increments endpoint bypassing the cache
     Then the response status code should match expected from test data
     And the response body should contain field "increments"
     And the increments data should not be empty
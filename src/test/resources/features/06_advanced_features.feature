@@ -20,6 +20,7 @@ Feature: Advanced API Testing Features
     And I store response value from "ticker.low" as "btc_low"
     Then the volume calculation should be correct
     And the stored variable "btc_high" should be greater than or equal to stored variable "btc_low"
+    And each response body should be parsed at most once
 
     When I send GET request to "/ticker/ethidr"
     Then the response status code should be 200
@@ -36,7 +37,7 @@ Feature: Advanced API Testing Features
     Then the response status code should be 200
     And the volume calculation should be correct
 
-  @positive @environment
+  @positive @environment @live
   Scenario: Environment Management - Verify production environment
     Given I send GET request to "/server_time"
     Then the response status code should be 200
@@ -0,0 +1,26 @@
+@performance @indodax
+Feature: Indodax API Load Testing
+  As a QA Engineer
+  I want to put sustained concurrent load on the public endpoints
+  So that I can check throughput, error rate and latency percentiles
+
+  # Not tagged @api: run on demand with -Dcucumber.filter.tags="@performance"
+
+  @load
+  Scenario: Load - Server time under concurrent load
+    When I send 200 GET requests to "/server_time" with concurrency 10 for 30 seconds
+    Then the load test error rate should be below 1.0 percent
+    And the load test p50 latency should be below 500 ms
+    And the load test p99 latency should be below 3000 ms
+    And the load test throughput should be at least 5.0 requests per second
+
+  @load
+  Scenario: Load - Ticker under concurrent load
+    When I send 100 GET requests to "/ticker/btcidr" with concurrency 5 for 30 seconds
+    Then the load test error rate should be below 1.0 percent
+    And the load test p90 latency should be below 1000 ms
+    And the load test p99.9 latency should be below 5000 ms
+
+  @sampling
+  Scenario: Sampling - Server time p95 after warm-up
+    Then the p95 response time of GET "/server_time" over 20 samples after 3 warm-up calls should be below 3000 ms
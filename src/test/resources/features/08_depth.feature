@@ -0,0 +1,30 @@
+@api @indodax @depth
+Feature: Indodax Order Book API
+  As a API consumer
+  I want to get the order book of a trading pair
+  So that I can show market depth and best prices
+
+  @positive @smoke
+  Scenario Outline: Order book for <pair> pair
+    When I send GET request to depth endpoint with pair "<pair>"
+    Then the response status code should be 200
+    And the order book should be valid
+    And the order book spread should be at most 1 percent
+    And the best order book levels should match the ticker within 1 percent
+    And the response time should be less than 3000 ms
+
+    Examples:
+      | pair    |
+      | btcidr  |
+      | ethidr  |
+      | usdtidr |
+
+  @positive
+  Scenario: Order book depth near mid price
+    When I send GET request to depth endpoint with pair "btcidr"
+    Then the order book should hold at least 0.01 on each side within 2 percent of mid
+
+  @positive @sweep
+  Scenario: Order book for every trading pair
+    When I poll the order book of every trading pair 3 times with concurrency 8
+    Then every trading pair order book should be valid
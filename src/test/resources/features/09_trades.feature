@@ -0,0 +1,10 @@
+@api @indodax @trades
+Feature: Indodax Trade History API
+  As a API consumer
+  I want to follow the trade history of a trading pair
+  So that I can ingest every new trade exactly once
+
+  @positive
+  Scenario: Poll trade history incrementally
+    When I poll the trade history of "btcidr" every 500 ms for 3 seconds
+    Then the polled trade history should be consistent